@@ -0,0 +1,57 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.pw.nexusnav.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session check done by the auth interceptor on every API request, with the seed config (security enabled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int cardCount;
+
+    private BenchmarkApplication application;
+    private AuthService authService;
+    private String validToken;
+    private String unknownToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        application = BenchmarkApplication.start(cardCount);
+        authService = application.getBean(AuthService.class);
+        validToken = authService.createSession();
+        unknownToken = UUID.randomUUID().toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public boolean validSession() {
+        return authService.isSessionValid(validToken);
+    }
+
+    @Benchmark
+    public boolean unknownSession() {
+        return authService.isSessionValid(unknownToken);
+    }
+}
@@ -0,0 +1,110 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.NexusNavApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A full application context on a throwaway data directory, seeded with a given or generated nav.json and the
+ * seed config.json (security enabled, default admin password).
+ * <p>
+ * Generated cards are spread over {@value #GROUP_COUNT} groups and named {@code Card <n>}, so a keyword such as
+ * {@code "card 1"} matches a predictable slice of them.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    static final int GROUP_COUNT = 20;
+
+    private final Path directory;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(Path directory, ConfigurableApplicationContext context) {
+        this.directory = directory;
+        this.context = context;
+    }
+
+    static BenchmarkApplication start(int cardCount) throws IOException {
+        return start(generateNav(cardCount));
+    }
+
+    static BenchmarkApplication start(byte[] nav) throws IOException {
+        Path directory = Files.createTempDirectory("nexusnav-bench");
+        Path navPath = directory.resolve("nav.json");
+        Path configPath = directory.resolve("config.json");
+        Files.write(navPath, nav);
+        try (InputStream seed = new ClassPathResource("seed/config.json").getInputStream()) {
+            Files.copy(seed, configPath);
+        }
+
+        SpringApplication application = new SpringApplication(NexusNavApplication.class);
+        ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:sqlite:" + directory.resolve("nexusnav.db"),
+                "--nexusnav.nav-path=" + navPath,
+                "--nexusnav.config-path=" + configPath,
+                "--nexusnav.blob-path=" + directory.resolve("blobs"),
+                "--nexusnav.icon-cache.path=" + directory.resolve("icons"),
+                "--nexusnav.config-watch.enabled=false",
+                "--logging.level.root=WARN"
+        );
+        return new BenchmarkApplication(directory, context);
+    }
+
+    static byte[] generateNav(int cardCount) throws IOException {
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            Map<String, Object> group = new LinkedHashMap<>();
+            group.put("id", "group-" + i);
+            group.put("name", "Group " + i);
+            group.put("orderIndex", i);
+            groups.add(group);
+        }
+        List<Map<String, Object>> cards = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            Map<String, Object> card = new LinkedHashMap<>();
+            card.put("id", "card-" + i);
+            card.put("groupId", "group-" + (i % GROUP_COUNT));
+            card.put("name", "Card " + i);
+            card.put("lanUrl", "http://192.168.1." + (i % 254 + 1) + ":" + (8000 + i % 1000));
+            card.put("wanUrl", "https://service-" + i + ".example.com");
+            card.put("openMode", "auto");
+            card.put("icon", "global");
+            card.put("description", "Benchmark service " + i);
+            card.put("orderIndex", i);
+            card.put("enabled", i % 10 != 0);
+            card.put("healthCheckEnabled", true);
+            cards.add(card);
+        }
+        Map<String, Object> nav = new LinkedHashMap<>();
+        nav.put("version", "1.1.0");
+        nav.put("groups", groups);
+        nav.put("cards", cards);
+        return new ObjectMapper().writeValueAsBytes(nav);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+}
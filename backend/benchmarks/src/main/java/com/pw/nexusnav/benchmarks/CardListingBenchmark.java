@@ -0,0 +1,67 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.pw.nexusnav.dto.CardDTO;
+import com.pw.nexusnav.service.CardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/v1/cards} without the controller: the cached projection path and the keyword query path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardListingBenchmark {
+
+    private static final String LAN_IP = "192.168.1.20";
+    private static final String WAN_IP = "203.0.113.7";
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int cardCount;
+
+    private BenchmarkApplication application;
+    private CardService cardService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        application = BenchmarkApplication.start(cardCount);
+        cardService = application.getBean(CardService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public List<CardDTO> listAllLan() {
+        return cardService.listCards(null, null, null, LAN_IP);
+    }
+
+    @Benchmark
+    public List<CardDTO> listAllWan() {
+        return cardService.listCards(null, null, null, WAN_IP);
+    }
+
+    @Benchmark
+    public List<CardDTO> listGroup() {
+        return cardService.listCards("group-3", null, null, LAN_IP);
+    }
+
+    @Benchmark
+    public List<CardDTO> listWithKeyword() {
+        return cardService.listCards(null, "card 1", null, LAN_IP);
+    }
+}
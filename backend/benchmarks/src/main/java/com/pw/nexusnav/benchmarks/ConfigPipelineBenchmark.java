@@ -0,0 +1,67 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.pw.nexusnav.service.ConfigImportService;
+import com.pw.nexusnav.service.ConfigModel;
+import com.pw.nexusnav.service.ConfigMutationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * nav.json parse and serialize, and one full in-app edit: parse, mutate, atomic write and re-import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConfigPipelineBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int cardCount;
+
+    private BenchmarkApplication application;
+    private ConfigImportService configImportService;
+    private ConfigMutationService configMutationService;
+    private byte[] navBytes;
+    private ConfigModel.NavModel navModel;
+    private long edits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        application = BenchmarkApplication.start(cardCount);
+        configImportService = application.getBean(ConfigImportService.class);
+        configMutationService = application.getBean(ConfigMutationService.class);
+        navBytes = configImportService.loadNavBytes();
+        navModel = configImportService.parseNav(navBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public ConfigModel.NavModel parseNav() {
+        return configImportService.parseNav(navBytes);
+    }
+
+    @Benchmark
+    public byte[] stringifyNav() {
+        return configImportService.stringifyBytes(navModel);
+    }
+
+    @Benchmark
+    public void mutateNav() {
+        String description = "Edited " + edits++;
+        configMutationService.mutateNav(nav -> nav.findCard("card-0").setDescription(description));
+    }
+}
@@ -0,0 +1,39 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.pw.nexusnav.config.ClientIpResolver;
+import com.pw.nexusnav.config.IpUtils;
+import com.pw.nexusnav.config.NexusNavProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LAN/WAN classification run for every card request. Literal addresses only, so results do not depend on DNS.
+ * {@code resolveBehindTwoProxies} is the client IP lookup for a request that passed two reverse proxies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IpUtilsBenchmark {
+
+    @Param({"192.168.1.20", "203.0.113.7", "::ffff:10.0.0.5", "fe80::1", "localhost"})
+    public String ip;
+
+    private final ClientIpResolver resolver = new ClientIpResolver(new NexusNavProperties());
+
+    @Benchmark
+    public boolean isLanIp() {
+        return IpUtils.isLanIp(ip);
+    }
+
+    @Benchmark
+    public String resolveBehindTwoProxies() {
+        return resolver.resolve("203.0.113.7, 10.0.0.2", "172.18.0.3");
+    }
+}
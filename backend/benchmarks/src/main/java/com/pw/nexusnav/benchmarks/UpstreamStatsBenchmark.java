@@ -0,0 +1,169 @@
+package com.pw.nexusnav.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.benchmarks.stub.EmbyStub;
+import com.pw.nexusnav.benchmarks.stub.QbittorrentStub;
+import com.pw.nexusnav.benchmarks.stub.StubBehavior;
+import com.pw.nexusnav.benchmarks.stub.TransmissionStub;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code /stats} load against stand-in Emby, qBittorrent and Transmission servers: HTTP client, auth
+ * interceptor, controller, upstream calls and JSON mapping. Run in sample mode for tail latency, e.g.
+ * {@code -Djmh.args="UpstreamStats -bm sample -t 16 -p latencyMillis=50 -p failureRate=0.05"}.
+ * Non-2xx responses are counted in the {@code failed} secondary result rather than failing the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class UpstreamStatsBenchmark {
+
+    private static final String PASSWORD = "admin123456";
+
+    @Param({"0", "20"})
+    public int latencyMillis;
+
+    @Param({"50", "2000"})
+    public int payloadItems;
+
+    @Param({"0", "0.02"})
+    public double failureRate;
+
+    private EmbyStub emby;
+    private QbittorrentStub qbittorrent;
+    private TransmissionStub transmission;
+    private BenchmarkApplication application;
+    private HttpClient client;
+    private String sessionCookie;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        StubBehavior behavior = new StubBehavior(latencyMillis, payloadItems, failureRate);
+        emby = new EmbyStub(behavior);
+        qbittorrent = new QbittorrentStub(behavior);
+        transmission = new TransmissionStub(behavior, "/transmission/rpc");
+        application = BenchmarkApplication.start(nav());
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        sessionCookie = login();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+        emby.close();
+        qbittorrent.close();
+        transmission.close();
+    }
+
+    @Benchmark
+    public int embyStats(Outcomes outcomes) throws Exception {
+        return get("/api/v1/emby/cards/bench-emby/stats", outcomes);
+    }
+
+    @Benchmark
+    public int qbittorrentStats(Outcomes outcomes) throws Exception {
+        return get("/api/v1/qbittorrent/cards/bench-qbittorrent/stats", outcomes);
+    }
+
+    @Benchmark
+    public int transmissionStats(Outcomes outcomes) throws Exception {
+        return get("/api/v1/transmission/cards/bench-transmission/stats", outcomes);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+
+    private int get(String path, Outcomes outcomes) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(application.baseUrl() + path))
+                .header("Cookie", sessionCookie)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 200) {
+            outcomes.ok++;
+        } else {
+            outcomes.failed++;
+        }
+        return response.body().length;
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(application.baseUrl() + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        String cookie = response.headers().firstValue("Set-Cookie")
+                .orElseThrow(() -> new IllegalStateException("Login failed: " + response.body()));
+        return cookie.substring(0, cookie.indexOf(';'));
+    }
+
+    private byte[] nav() throws IOException {
+        Map<String, Object> group = new LinkedHashMap<>();
+        group.put("id", "bench");
+        group.put("name", "Bench");
+        group.put("orderIndex", 1);
+
+        Map<String, Object> embyCard = card("bench-emby", "emby", emby.baseUrl(), 1);
+        embyCard.put("embyApiKey", EmbyStub.API_KEY);
+        Map<String, Object> qbittorrentCard = card("bench-qbittorrent", "qbittorrent", qbittorrent.baseUrl(), 2);
+        qbittorrentCard.put("qbittorrentUsername", QbittorrentStub.USERNAME);
+        qbittorrentCard.put("qbittorrentPassword", QbittorrentStub.PASSWORD);
+        Map<String, Object> transmissionCard = card("bench-transmission", "transmission", transmission.baseUrl(), 3);
+        transmissionCard.put("transmissionUsername", TransmissionStub.USERNAME);
+        transmissionCard.put("transmissionPassword", TransmissionStub.PASSWORD);
+
+        Map<String, Object> nav = new LinkedHashMap<>();
+        nav.put("version", "1.1.0");
+        nav.put("groups", List.of(group));
+        nav.put("cards", List.of(embyCard, qbittorrentCard, transmissionCard));
+        return new ObjectMapper().writeValueAsBytes(nav);
+    }
+
+    private Map<String, Object> card(String id, String cardType, String url, int orderIndex) {
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("id", id);
+        card.put("groupId", "bench");
+        card.put("name", id);
+        card.put("cardType", cardType);
+        card.put("url", url);
+        card.put("openMode", "newtab");
+        card.put("orderIndex", orderIndex);
+        card.put("enabled", true);
+        card.put("healthCheckEnabled", false);
+        return card;
+    }
+}
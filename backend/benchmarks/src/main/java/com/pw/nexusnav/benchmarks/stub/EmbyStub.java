@@ -0,0 +1,109 @@
+package com.pw.nexusnav.benchmarks.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+/**
+ * Stand-in Emby server: {@code /Items/Counts}, {@code /Items} (library folders and per-library counts),
+ * {@code /Sessions} and {@code /ScheduledTasks}. Requests must carry the API key as {@code api_key} or
+ * {@code X-Emby-Token}. The number of libraries is capped at {@value #MAX_LIBRARIES} because each one costs the
+ * backend an extra request, as with a real server.
+ */
+public class EmbyStub extends UpstreamStub {
+
+    public static final String API_KEY = "bench-emby-key";
+    private static final int MAX_LIBRARIES = 10;
+
+    private final String counts;
+    private final String libraries;
+    private final String libraryCount;
+    private final String sessions;
+    private final String tasks;
+
+    public EmbyStub(StubBehavior behavior) throws IOException {
+        super(behavior);
+        ObjectMapper mapper = new ObjectMapper();
+        int items = behavior.payloadItems();
+
+        ObjectNode countsNode = mapper.createObjectNode();
+        countsNode.put("MovieCount", items * 10L);
+        countsNode.put("SeriesCount", items);
+        countsNode.put("EpisodeCount", items * 25L);
+        countsNode.put("SongCount", items * 40L);
+        counts = mapper.writeValueAsString(countsNode);
+
+        ObjectNode librariesNode = mapper.createObjectNode();
+        ArrayNode libraryItems = librariesNode.putArray("Items");
+        int libraryTotal = Math.min(items, MAX_LIBRARIES);
+        for (int i = 0; i < libraryTotal; i++) {
+            libraryItems.addObject().put("Id", "library-" + i).put("Name", "Library " + i).put("Type", "CollectionFolder");
+        }
+        librariesNode.put("TotalRecordCount", libraryTotal);
+        libraries = mapper.writeValueAsString(librariesNode);
+
+        ObjectNode libraryCountNode = mapper.createObjectNode();
+        libraryCountNode.putArray("Items");
+        libraryCountNode.put("TotalRecordCount", items * 5L);
+        libraryCount = mapper.writeValueAsString(libraryCountNode);
+
+        ArrayNode sessionsNode = mapper.createArrayNode();
+        for (int i = 0; i < items; i++) {
+            ObjectNode session = sessionsNode.addObject()
+                    .put("Id", "session-" + i)
+                    .put("UserName", "user" + i)
+                    .put("Client", "Emby Web")
+                    .put("DeviceName", "Device " + i);
+            if (i % 2 == 0) {
+                session.putObject("NowPlayingItem").put("Name", "Movie " + i).put("Type", "Movie");
+                session.putObject("PlayState").put("PositionTicks", i * 10_000_000L);
+            }
+        }
+        sessions = mapper.writeValueAsString(sessionsNode);
+
+        ArrayNode tasksNode = mapper.createArrayNode();
+        for (int i = 0; i < items; i++) {
+            ObjectNode task = tasksNode.addObject()
+                    .put("Id", String.format("%032x", i))
+                    .put("Name", "Task " + i)
+                    .put("Description", "Scheduled task " + i)
+                    .put("Category", i % 2 == 0 ? "Library" : "Maintenance")
+                    .put("State", i % 7 == 0 ? "Running" : "Idle");
+            task.putObject("LastExecutionResult")
+                    .put("StartTimeUtc", "2024-01-01T00:00:00.0000000Z")
+                    .put("EndTimeUtc", "2024-01-01T00:01:00.0000000Z")
+                    .put("Status", "Completed");
+        }
+        tasks = mapper.writeValueAsString(tasksNode);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String body) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String token = exchange.getRequestHeaders().getFirst("X-Emby-Token");
+        boolean authorized = API_KEY.equals(token) || (query != null && query.contains("api_key=" + API_KEY));
+        if (!authorized) {
+            send(exchange, 401, "text/plain", "Access token is invalid or expired.");
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if ("GET".equals(method) && "/Items/Counts".equals(path)) {
+            sendJson(exchange, counts);
+        } else if ("GET".equals(method) && "/Items".equals(path)) {
+            sendJson(exchange, query != null && query.contains("ParentId=") ? libraryCount : libraries);
+        } else if ("GET".equals(method) && "/Sessions".equals(path)) {
+            sendJson(exchange, sessions);
+        } else if ("GET".equals(method) && "/ScheduledTasks".equals(path)) {
+            sendJson(exchange, tasks);
+        } else if ("POST".equals(method) && path.startsWith("/ScheduledTasks/Running/")) {
+            send(exchange, 204, "text/plain", "");
+        } else {
+            send(exchange, 404, "text/plain", "Not found");
+        }
+    }
+}
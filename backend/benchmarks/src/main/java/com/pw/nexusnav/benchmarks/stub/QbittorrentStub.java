@@ -0,0 +1,121 @@
+package com.pw.nexusnav.benchmarks.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in qBittorrent Web API: {@code /api/v2/auth/login} issues an {@code SID} cookie, and
+ * {@code /api/v2/transfer/info} and {@code /api/v2/torrents/info} reject requests without a known one.
+ */
+public class QbittorrentStub extends UpstreamStub {
+
+    public static final String USERNAME = "admin";
+    public static final String PASSWORD = "adminadmin";
+    private static final String[] STATES = {
+            "downloading", "uploading", "pausedUP", "queuedDL", "stalledUP", "checkingDL", "stalledDL", "error"
+    };
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final String transferInfo;
+    private final String allTorrents;
+    private final String activeTorrents;
+
+    public QbittorrentStub(StubBehavior behavior) throws IOException {
+        super(behavior);
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode transfer = mapper.createObjectNode();
+        transfer.put("dl_info_speed", 12_345_678L);
+        transfer.put("up_info_speed", 1_234_567L);
+        transfer.put("connection_status", "connected");
+        transferInfo = mapper.writeValueAsString(transfer);
+
+        ArrayNode all = mapper.createArrayNode();
+        ArrayNode active = mapper.createArrayNode();
+        for (int i = 0; i < behavior.payloadItems(); i++) {
+            String state = STATES[i % STATES.length];
+            ObjectNode torrent = mapper.createObjectNode()
+                    .put("hash", String.format("%040x", i))
+                    .put("name", "torrent-" + i)
+                    .put("state", state)
+                    .put("size", 1_000_000_000L + i)
+                    .put("progress", (i % 100) / 100.0)
+                    .put("dlspeed", state.equals("downloading") ? 100_000L : 0L)
+                    .put("upspeed", state.equals("uploading") ? 50_000L : 0L);
+            all.add(torrent);
+            if (state.equals("downloading") || state.equals("uploading")) {
+                active.add(torrent);
+            }
+        }
+        allTorrents = mapper.writeValueAsString(all);
+        activeTorrents = mapper.writeValueAsString(active);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("/api/v2/auth/login".equals(path)) {
+            login(exchange, body);
+            return;
+        }
+        if (!hasSession(exchange)) {
+            send(exchange, 403, "text/plain", "Forbidden");
+            return;
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        if ("/api/v2/transfer/info".equals(path)) {
+            sendJson(exchange, transferInfo);
+        } else if ("/api/v2/torrents/info".equals(path)) {
+            sendJson(exchange, query != null && query.contains("filter=active") ? activeTorrents : allTorrents);
+        } else {
+            send(exchange, 404, "text/plain", "Not Found");
+        }
+    }
+
+    private void login(HttpExchange exchange, String body) throws IOException {
+        String username = null;
+        String password = null;
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            String value = URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            switch (pair.substring(0, separator)) {
+                case "username" -> username = value;
+                case "password" -> password = value;
+                default -> {
+                }
+            }
+        }
+        if (!USERNAME.equals(username) || !PASSWORD.equals(password)) {
+            send(exchange, 200, "text/plain", "Fails.");
+            return;
+        }
+        String sid = UUID.randomUUID().toString().replace("-", "");
+        sessions.add(sid);
+        exchange.getResponseHeaders().add("Set-Cookie", "SID=" + sid + "; HttpOnly; path=/");
+        send(exchange, 200, "text/plain", "Ok.");
+    }
+
+    private boolean hasSession(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String trimmed = cookie.trim();
+                if (trimmed.startsWith("SID=") && sessions.contains(trimmed.substring(4))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pw.nexusnav.benchmarks.stub;
+
+/**
+ * How a stand-in upstream behaves.
+ *
+ * @param latencyMillis delay added before every response
+ * @param payloadItems  number of items (libraries, sessions, tasks, torrents) in list responses
+ * @param failureRate   fraction of requests, 0 to 1, answered with HTTP 500
+ */
+public record StubBehavior(int latencyMillis, int payloadItems, double failureRate) {
+
+    public StubBehavior {
+        if (latencyMillis < 0 || payloadItems < 0 || failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Invalid stub behavior");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.pw.nexusnav.benchmarks.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Stand-in Transmission RPC server with basic auth and the CSRF handshake: a request without the current
+ * {@code X-Transmission-Session-Id} gets 409 carrying the id to retry with. The id rotates every
+ * {@value #SESSION_ID_ROTATION} accepted calls, as a restarted daemon would.
+ */
+public class TransmissionStub extends UpstreamStub {
+
+    public static final String USERNAME = "transmission";
+    public static final String PASSWORD = "transmission";
+    private static final String SESSION_HEADER = "X-Transmission-Session-Id";
+    private static final int SESSION_ID_ROTATION = 1000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String rpcPath;
+    private final String expectedAuthorization;
+    private final String sessionStats;
+    private final String torrentGet;
+    private volatile String sessionId = UUID.randomUUID().toString();
+    private long accepted;
+
+    /**
+     * @param rpcPath {@code /transmission/rpc} like a stock daemon, or {@code /rpc} to exercise the backend's
+     *                endpoint fallback
+     */
+    public TransmissionStub(StubBehavior behavior, String rpcPath) throws IOException {
+        super(behavior);
+        this.rpcPath = rpcPath;
+        this.expectedAuthorization = "Basic " + Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+        ObjectNode stats = mapper.createObjectNode().put("result", "success");
+        stats.putObject("arguments")
+                .put("downloadSpeed", 7_654_321L)
+                .put("uploadSpeed", 765_432L)
+                .put("torrentCount", behavior.payloadItems())
+                .put("activeTorrentCount", behavior.payloadItems() / 3);
+        sessionStats = mapper.writeValueAsString(stats);
+
+        ObjectNode list = mapper.createObjectNode().put("result", "success");
+        ArrayNode torrents = list.putObject("arguments").putArray("torrents");
+        for (int i = 0; i < behavior.payloadItems(); i++) {
+            torrents.addObject().put("status", i % 7).put("error", i % 50 == 0 ? 3 : 0);
+        }
+        torrentGet = mapper.writeValueAsString(list);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String body) throws IOException {
+        if (!rpcPath.equals(exchange.getRequestURI().getPath())) {
+            send(exchange, 404, "text/plain", "Not Found");
+            return;
+        }
+        if (!expectedAuthorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            send(exchange, 401, "text/html", "<h1>401: Unauthorized</h1>");
+            return;
+        }
+        String current = sessionId;
+        if (!current.equals(exchange.getRequestHeaders().getFirst(SESSION_HEADER))) {
+            exchange.getResponseHeaders().set(SESSION_HEADER, current);
+            send(exchange, 409, "text/html", "<h1>409: Conflict</h1>");
+            return;
+        }
+        rotateSessionId();
+
+        JsonNode request = mapper.readTree(body);
+        switch (request.path("method").asText("")) {
+            case "session-stats" -> sendJson(exchange, sessionStats);
+            case "torrent-get" -> sendJson(exchange, torrentGet);
+            default -> sendJson(exchange, "{\"result\":\"method name not recognized\",\"arguments\":{}}");
+        }
+    }
+
+    private synchronized void rotateSessionId() {
+        if (++accepted % SESSION_ID_ROTATION == 0) {
+            sessionId = UUID.randomUUID().toString();
+        }
+    }
+}
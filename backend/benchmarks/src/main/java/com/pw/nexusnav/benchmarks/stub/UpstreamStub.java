@@ -0,0 +1,102 @@
+package com.pw.nexusnav.benchmarks.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base for the embedded stand-in servers: a JDK HTTP server on a free loopback port that applies the configured
+ * latency and failure rate before handing the request to {@link #handle(HttpExchange, String)}.
+ */
+public abstract class UpstreamStub implements AutoCloseable {
+
+    protected final StubBehavior behavior;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedFailures = new AtomicLong();
+
+    protected UpstreamStub(StubBehavior behavior) throws IOException {
+        this.behavior = behavior;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long injectedFailures() {
+        return injectedFailures.get();
+    }
+
+    protected abstract void handle(HttpExchange exchange, String body) throws IOException;
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            if (behavior.latencyMillis() > 0) {
+                try {
+                    Thread.sleep(behavior.latencyMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (behavior.failureRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.failureRate()) {
+                injectedFailures.incrementAndGet();
+                send(exchange, 500, "text/plain", "injected failure");
+                return;
+            }
+            handle(exchange, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    protected static void sendJson(HttpExchange exchange, String json) throws IOException {
+        send(exchange, 200, "application/json", json);
+    }
+
+    protected static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,149 @@
+package com.pw.nexusnav.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resolves the client address of a request behind reverse proxies.
+ * <p>
+ * {@code X-Forwarded-For} is only honoured when the direct peer is a trusted proxy. The chain is then walked from
+ * the right, skipping trusted hops, and the first untrusted entry is the client; entries left of it were supplied
+ * by the client and are ignored. Trusted ranges come from {@code nexusnav.network.trusted-proxies} and default to
+ * {@link IpUtils#DEFAULT_LAN_RANGES}, which covers proxies on the same host, Docker network or LAN.
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final Logger log = LoggerFactory.getLogger(ClientIpResolver.class);
+
+    private final CidrTrie trustedProxies = new CidrTrie();
+
+    public ClientIpResolver(NexusNavProperties properties) {
+        List<IpUtils.Cidr> configured = new ArrayList<>();
+        for (String value : properties.getNetwork().getTrustedProxies()) {
+            if (StringUtils.hasText(value)) {
+                configured.add(IpUtils.Cidr.parse(value));
+            }
+        }
+        if (configured.isEmpty()) {
+            IpUtils.DEFAULT_LAN_RANGES.forEach(trustedProxies::add);
+        } else {
+            configured.forEach(trustedProxies::add);
+            log.info("Trusted proxies configured: ranges={}", configured);
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(X_FORWARDED_FOR);
+        String forwardedFor = headers != null && headers.hasMoreElements() ? headers.nextElement() : null;
+        if (forwardedFor != null && headers.hasMoreElements()) {
+            // Repeated headers form one list in order of appearance.
+            StringBuilder joined = new StringBuilder(forwardedFor);
+            while (headers.hasMoreElements()) {
+                joined.append(',').append(headers.nextElement());
+            }
+            forwardedFor = joined.toString();
+        }
+        return resolve(forwardedFor, request.getRemoteAddr());
+    }
+
+    public String resolve(String forwardedFor, String remoteAddr) {
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        int end = forwardedFor.length();
+        int clientStart = -1;
+        int clientEnd = -1;
+        while (end > 0) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            int start = trimStart(forwardedFor, comma + 1, end);
+            int stop = trimEnd(forwardedFor, start, end);
+            if (start < stop) {
+                clientStart = start;
+                clientEnd = stop;
+                byte[] address = IpUtils.parseLiteral(forwardedFor, start, stop);
+                if (address == null || !trustedProxies.matches(address)) {
+                    break;
+                }
+            }
+            end = Math.max(comma, 0);
+        }
+        // Every hop trusted: the leftmost entry is the best guess, as with a client inside the proxy network.
+        return clientStart < 0 ? remoteAddr : forwardedFor.substring(clientStart, clientEnd);
+    }
+
+    private boolean isTrusted(String remoteAddr) {
+        byte[] address = IpUtils.parseLiteral(remoteAddr);
+        return address != null && trustedProxies.matches(address);
+    }
+
+    private static int trimStart(String value, int from, int to) {
+        while (from < to && Character.isWhitespace(value.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(String value, int from, int to) {
+        while (to > from && Character.isWhitespace(value.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Binary prefix trie over CIDR ranges, one root per address family. A lookup follows at most one node per
+     * address bit and stops at the first range end, independent of the number of ranges.
+     */
+    static final class CidrTrie {
+
+        private final Node ipv4 = new Node();
+        private final Node ipv6 = new Node();
+
+        void add(IpUtils.Cidr cidr) {
+            byte[] network = cidr.network();
+            Node node = network.length == 4 ? ipv4 : ipv6;
+            for (int bit = 0; bit < cidr.prefixLength(); bit++) {
+                if (bitAt(network, bit)) {
+                    node = node.one == null ? (node.one = new Node()) : node.one;
+                } else {
+                    node = node.zero == null ? (node.zero = new Node()) : node.zero;
+                }
+            }
+            node.terminal = true;
+        }
+
+        boolean matches(byte[] address) {
+            Node node = address.length == 4 ? ipv4 : ipv6;
+            int bits = address.length * 8;
+            for (int bit = 0; node != null; bit++) {
+                if (node.terminal) {
+                    return true;
+                }
+                if (bit == bits) {
+                    return false;
+                }
+                node = bitAt(address, bit) ? node.one : node.zero;
+            }
+            return false;
+        }
+
+        private static boolean bitAt(byte[] address, int bit) {
+            return (address[bit / 8] & (0x80 >>> (bit % 8))) != 0;
+        }
+
+        private static final class Node {
+            private Node zero;
+            private Node one;
+            private boolean terminal;
+        }
+    }
+}
@@ -1,45 +1,289 @@
 package com.pw.nexusnav.config;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
+import java.util.List;
 
+/**
+ * Client address helpers. Addresses are parsed as IPv4/IPv6 literals only and never resolved, so classifying a
+ * request cannot block on DNS; anything that is not a literal (other than {@code localhost}) counts as WAN.
+ */
 public final class IpUtils {
 
+    /**
+     * Loopback, private, link-local and unique-local ranges, plus the deprecated IPv6 site-local range that
+     * {@link java.net.InetAddress#isSiteLocalAddress()} used to match.
+     */
+    public static final List<Cidr> DEFAULT_LAN_RANGES = List.of(
+            Cidr.parse("127.0.0.0/8"),
+            Cidr.parse("10.0.0.0/8"),
+            Cidr.parse("172.16.0.0/12"),
+            Cidr.parse("192.168.0.0/16"),
+            Cidr.parse("169.254.0.0/16"),
+            Cidr.parse("::1/128"),
+            Cidr.parse("fe80::/10"),
+            Cidr.parse("fec0::/10"),
+            Cidr.parse("fc00::/7")
+    );
+
     private IpUtils() {
     }
 
-    public static String extractClientIp(String xForwardedFor, String remoteAddr) {
-        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return remoteAddr;
+    public static boolean isLanIp(String ip) {
+        return isLanIp(ip, DEFAULT_LAN_RANGES);
     }
 
-    public static boolean isLanIp(String ip) {
+    public static boolean isLanIp(String ip, List<Cidr> lanRanges) {
         if (ip == null || ip.isBlank()) {
             return false;
         }
-
         String value = ip.trim();
         if ("localhost".equalsIgnoreCase(value)) {
             return true;
         }
+        byte[] address = parseLiteral(value);
+        if (address == null) {
+            return false;
+        }
+        for (Cidr range : lanRanges) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an IPv4 or IPv6 literal, optionally in brackets or with a zone id. IPv4-mapped IPv6 addresses are
+     * returned as their 4-byte IPv4 form. Returns {@code null} for anything else, including host names.
+     */
+    public static byte[] parseLiteral(String value) {
+        if (value == null) {
+            return null;
+        }
+        return parseLiteral(value, 0, value.length());
+    }
 
-        String normalized = value;
-        if (normalized.startsWith("[") && normalized.endsWith("]")) {
-            normalized = normalized.substring(1, normalized.length() - 1);
+    /**
+     * Parses the literal in {@code value[from, to)}, so callers scanning a header need not cut it up first.
+     * IPv4 is parsed in place; IPv6 copies the range.
+     */
+    public static byte[] parseLiteral(String value, int from, int to) {
+        while (from < to && Character.isWhitespace(value.charAt(from))) {
+            from++;
         }
-        if (normalized.startsWith("::ffff:")) {
-            normalized = normalized.substring("::ffff:".length());
+        while (to > from && Character.isWhitespace(value.charAt(to - 1))) {
+            to--;
         }
+        if (to - from > 2 && value.charAt(from) == '[' && value.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        int colon = value.indexOf(':', from);
+        if (colon < 0 || colon >= to) {
+            return parseIpv4(value, from, to);
+        }
+        String literal = value.substring(from, to);
+        int zone = literal.indexOf('%');
+        if (zone >= 0) {
+            literal = literal.substring(0, zone);
+        }
+        byte[] address = parseIpv6(literal);
+        if (address != null && isIpv4Mapped(address)) {
+            byte[] ipv4 = new byte[4];
+            System.arraycopy(address, 12, ipv4, 0, 4);
+            return ipv4;
+        }
+        return address;
+    }
 
-        try {
-            InetAddress address = InetAddress.getByName(normalized);
-            return address.isLoopbackAddress()
-                    || address.isSiteLocalAddress()
-                    || address.isLinkLocalAddress();
-        } catch (UnknownHostException ignored) {
-            return false;
+    private static byte[] parseIpv4(String value, int from, int to) {
+        byte[] address = new byte[4];
+        int part = 0;
+        int octet = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == 3) {
+                    return null;
+                }
+                address[part++] = (byte) octet;
+                octet = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                octet = octet * 10 + (c - '0');
+                digits++;
+                if (octet > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || part != 3) {
+            return null;
+        }
+        address[3] = (byte) octet;
+        return address;
+    }
+
+    private static byte[] parseIpv6(String value) {
+        int compressed = value.indexOf("::");
+        if (compressed >= 0 && value.indexOf("::", compressed + 1) >= 0) {
+            return null;
+        }
+        int[] words = new int[8];
+        int count;
+        if (compressed < 0) {
+            count = parseGroups(value, words, 0, true);
+            if (count != 8) {
+                return null;
+            }
+        } else {
+            int head = parseGroups(value.substring(0, compressed), words, 0, false);
+            int[] tailWords = new int[8];
+            int tail = parseGroups(value.substring(compressed + 2), tailWords, 0, true);
+            if (head < 0 || tail < 0 || head + tail > 7) {
+                return null;
+            }
+            System.arraycopy(tailWords, 0, words, 8 - tail, tail);
+        }
+        byte[] address = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            address[i * 2] = (byte) (words[i] >>> 8);
+            address[i * 2 + 1] = (byte) words[i];
+        }
+        return address;
+    }
+
+    private static int parseGroups(String part, int[] words, int offset, boolean allowIpv4Tail) {
+        if (part.isEmpty()) {
+            return 0;
+        }
+        String[] groups = part.split(":", -1);
+        int count = 0;
+        for (int i = 0; i < groups.length; i++) {
+            String group = groups[i];
+            if (allowIpv4Tail && i == groups.length - 1 && group.indexOf('.') >= 0) {
+                byte[] ipv4 = parseIpv4(group, 0, group.length());
+                if (ipv4 == null || offset + count + 2 > words.length) {
+                    return -1;
+                }
+                words[offset + count++] = (ipv4[0] & 0xff) << 8 | (ipv4[1] & 0xff);
+                words[offset + count++] = (ipv4[2] & 0xff) << 8 | (ipv4[3] & 0xff);
+                continue;
+            }
+            if (group.isEmpty() || group.length() > 4 || offset + count >= words.length) {
+                return -1;
+            }
+            int word = 0;
+            for (int j = 0; j < group.length(); j++) {
+                char c = group.charAt(j);
+                // Character.digit would also accept non-ASCII digits such as U+0661.
+                int digit = c < 0x80 ? Character.digit(c, 16) : -1;
+                if (digit < 0) {
+                    return -1;
+                }
+                word = word << 4 | digit;
+            }
+            words[offset + count++] = word;
+        }
+        return count;
+    }
+
+    private static boolean isIpv4Mapped(byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return address[10] == (byte) 0xff && address[11] == (byte) 0xff;
+    }
+
+    /**
+     * An address range in CIDR notation, e.g. {@code 10.8.0.0/16} or {@code fd00::/8}. A bare address is a
+     * single-host range. IPv4-mapped IPv6 ranges are stored as IPv4, matching {@link #parseLiteral(String)}.
+     */
+    public static final class Cidr {
+
+        private final byte[] network;
+        private final int prefixLength;
+
+        private Cidr(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        public static Cidr parse(String value) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("CIDR range is empty");
+            }
+            String trimmed = value.trim();
+            int slash = trimmed.indexOf('/');
+            String literal = slash < 0 ? trimmed : trimmed.substring(0, slash);
+            byte[] address = parseLiteral(literal);
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid CIDR range: " + value);
+            }
+            int bits = address.length * 8;
+            int prefix = bits;
+            if (slash >= 0) {
+                try {
+                    prefix = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Invalid CIDR range: " + value);
+                }
+                if (address.length == 4 && literal.indexOf(':') >= 0) {
+                    prefix -= 96;
+                }
+            }
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("Invalid CIDR prefix length: " + value);
+            }
+            for (int bit = prefix; bit < bits; bit++) {
+                address[bit / 8] &= (byte) ~(0x80 >>> (bit % 8));
+            }
+            return new Cidr(address, prefix);
+        }
+
+        public boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xff << (8 - remainingBits)) & 0xff;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+
+        byte[] network() {
+            return network;
+        }
+
+        int prefixLength() {
+            return prefixLength;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            if (network.length == 4) {
+                for (int i = 0; i < 4; i++) {
+                    builder.append(i == 0 ? "" : ".").append(network[i] & 0xff);
+                }
+            } else {
+                for (int i = 0; i < 16; i += 2) {
+                    builder.append(i == 0 ? "" : ":").append(Integer.toHexString((network[i] & 0xff) << 8 | (network[i + 1] & 0xff)));
+                }
+            }
+            return builder.append('/').append(prefixLength).toString();
         }
     }
 }
@@ -0,0 +1,136 @@
+package com.pw.nexusnav.config;
+
+import com.jcraft.jsch.JSch;
+import com.pw.nexusnav.dto.AdminConfigDTO;
+import com.pw.nexusnav.dto.AdminConfigUpdateRequest;
+import com.pw.nexusnav.dto.ApiResponse;
+import com.pw.nexusnav.dto.AuthLoginRequest;
+import com.pw.nexusnav.dto.BulkCardRequest;
+import com.pw.nexusnav.dto.BulkCardResultDTO;
+import com.pw.nexusnav.dto.CardDTO;
+import com.pw.nexusnav.dto.CardOrderItemDTO;
+import com.pw.nexusnav.dto.CardSearchHitDTO;
+import com.pw.nexusnav.dto.CreateCardRequest;
+import com.pw.nexusnav.dto.CreateGroupRequest;
+import com.pw.nexusnav.dto.EmbyMediaBreakdownItemDTO;
+import com.pw.nexusnav.dto.EmbyStatsDTO;
+import com.pw.nexusnav.dto.EmbyTaskDTO;
+import com.pw.nexusnav.dto.EmbyTaskRunResultDTO;
+import com.pw.nexusnav.dto.GroupDTO;
+import com.pw.nexusnav.dto.ImportNavConfigRequest;
+import com.pw.nexusnav.dto.SystemConfigDTO;
+import com.pw.nexusnav.dto.TorrentStatsDTO;
+import com.pw.nexusnav.dto.TorrentStatusBreakdownDTO;
+import com.pw.nexusnav.dto.UpdateCardRequest;
+import com.pw.nexusnav.dto.UpdateGroupRequest;
+import com.pw.nexusnav.dto.VerifyConfigRequest;
+import com.pw.nexusnav.entity.AppMetaEntity;
+import com.pw.nexusnav.entity.CardEntity;
+import com.pw.nexusnav.entity.GroupEntity;
+import com.pw.nexusnav.service.ConfigModel;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+/**
+ * Reflection and resource hints for the GraalVM native image (pom profile "native").
+ * <p>
+ * Spring AOT already covers controller signatures and JPA entities it can see; this adds what it cannot infer:
+ * the config file model Jackson binds by reflection, DTOs that only appear inside generic responses, the
+ * algorithm classes JSch instantiates by name, and classpath resources loaded by path. sqlite-jdbc ships its own
+ * native-image configuration. Has no effect on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.Registrar.class)
+@RegisterReflectionForBinding({
+        ConfigModel.class,
+        ConfigModel.NavModel.class,
+        ConfigModel.SystemModel.class,
+        ConfigModel.GroupItem.class,
+        ConfigModel.CardItem.class,
+        ConfigModel.SearchEngineItem.class,
+        ConfigModel.SecurityModel.class,
+        AdminConfigDTO.class,
+        AdminConfigDTO.SearchEngineItemDTO.class,
+        AdminConfigDTO.SecurityDTO.class,
+        AdminConfigUpdateRequest.class,
+        AdminConfigUpdateRequest.SearchEngineItemRequest.class,
+        AdminConfigUpdateRequest.SecurityRequest.class,
+        ApiResponse.class,
+        AuthLoginRequest.class,
+        BulkCardRequest.class,
+        BulkCardRequest.Operation.class,
+        BulkCardResultDTO.class,
+        CardDTO.class,
+        CardOrderItemDTO.class,
+        CardSearchHitDTO.class,
+        CreateCardRequest.class,
+        CreateGroupRequest.class,
+        EmbyMediaBreakdownItemDTO.class,
+        EmbyStatsDTO.class,
+        EmbyTaskDTO.class,
+        EmbyTaskRunResultDTO.class,
+        GroupDTO.class,
+        ImportNavConfigRequest.class,
+        ImportNavConfigRequest.GroupItem.class,
+        ImportNavConfigRequest.CardItem.class,
+        SystemConfigDTO.class,
+        SystemConfigDTO.SearchEngineDTO.class,
+        TorrentStatsDTO.class,
+        TorrentStatusBreakdownDTO.class,
+        UpdateCardRequest.class,
+        UpdateGroupRequest.class,
+        VerifyConfigRequest.class,
+        AppMetaEntity.class,
+        CardEntity.class,
+        GroupEntity.class
+})
+public class NativeHintsConfig {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        private static final String JSCH_PACKAGE = "com.jcraft.jsch.";
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(
+                    TypeReference.of("org.hibernate.community.dialect.SQLiteDialect"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS
+            );
+            registerJschAlgorithms(hints);
+
+            hints.resources().registerPattern("seed/*.json");
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+
+        /**
+         * JSch looks up ciphers, KEX, MACs and key types by name in its static config table and creates them
+         * with {@code Class.forName(...).newInstance()}; register every class named there.
+         */
+        private void registerJschAlgorithms(RuntimeHints hints) {
+            Map<?, ?> config;
+            try {
+                Field field = JSch.class.getDeclaredField("config");
+                field.setAccessible(true);
+                config = (Map<?, ?>) field.get(null);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new IllegalStateException("Cannot read JSch algorithm table", ex);
+            }
+            config.values().stream()
+                    .map(String::valueOf)
+                    .filter(value -> value.startsWith(JSCH_PACKAGE))
+                    .distinct()
+                    .forEach(className -> hints.reflection().registerType(
+                            TypeReference.of(className),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS
+                    ));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.pw.nexusnav.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LAN/WAN classification of client addresses for the {@code auto} network mode. Extends
+ * {@link IpUtils#DEFAULT_LAN_RANGES} with {@code nexusnav.network.lan-cidrs} (e.g. a VPN or Tailscale range) and
+ * caches results per address; the cache is simply cleared when full since a home dashboard sees few clients.
+ */
+@Component
+public class NetworkClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkClassifier.class);
+    private static final int MAX_CACHED_ADDRESSES = 4096;
+
+    private final List<IpUtils.Cidr> lanRanges;
+    private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+    public NetworkClassifier(NexusNavProperties properties) {
+        List<IpUtils.Cidr> ranges = new ArrayList<>(IpUtils.DEFAULT_LAN_RANGES);
+        List<IpUtils.Cidr> custom = new ArrayList<>();
+        for (String value : properties.getNetwork().getLanCidrs()) {
+            if (StringUtils.hasText(value)) {
+                custom.add(IpUtils.Cidr.parse(value));
+            }
+        }
+        ranges.addAll(custom);
+        this.lanRanges = List.copyOf(ranges);
+        if (!custom.isEmpty()) {
+            log.info("Custom LAN ranges configured: ranges={}", custom);
+        }
+    }
+
+    public boolean isLan(String clientIp) {
+        if (clientIp == null) {
+            return false;
+        }
+        Boolean cached = cache.get(clientIp);
+        if (cached != null) {
+            return cached;
+        }
+        boolean lan = IpUtils.isLanIp(clientIp, lanRanges);
+        if (cache.size() >= MAX_CACHED_ADDRESSES) {
+            cache.clear();
+        }
+        cache.put(clientIp, lan);
+        return lan;
+    }
+}
@@ -0,0 +1,112 @@
+package com.pw.nexusnav.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Application meters, exported through {@code /actuator/prometheus}.
+ * <p>
+ * Upstream calls are tagged by card and endpoint so a slow dashboard can be traced to one Emby or torrent client.
+ * Endpoint tags drop query strings and id-like path segments to keep the number of series bounded.
+ */
+@Component
+public class NexusNavMetrics {
+
+    public static final String UPSTREAM_REQUESTS = "nexusnav.upstream.requests";
+    public static final String UPSTREAM_FALLBACKS = "nexusnav.upstream.fallbacks";
+    public static final String AUTH_FAILURES = "nexusnav.auth.failures";
+    public static final String CACHE_REQUESTS = "nexusnav.cache.requests";
+    public static final String SSH_SESSIONS = "nexusnav.ssh.sessions.active";
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("^(?:[0-9]+|[0-9a-fA-F-]{16,})$");
+
+    private final MeterRegistry registry;
+
+    public NexusNavMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times one upstream call. The outcome tag is {@code success}, {@code error} for exceptions, or
+     * {@code http_4xx}/{@code http_5xx} when the call returns a non-2xx {@link HttpResponse}.
+     */
+    public <T> T timeUpstream(String upstream, String cardId, String endpoint, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        long requestStart = RequestTimings.start();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = outcomeOf(result);
+            return result;
+        } finally {
+            RequestTimings.record(RequestTimings.UPSTREAM, requestStart);
+            sample.stop(Timer.builder(UPSTREAM_REQUESTS)
+                    .description("Requests from NexusNav to card upstreams")
+                    .tags(upstreamTags(upstream, cardId, endpoint).and("outcome", outcome))
+                    .register(registry));
+        }
+    }
+
+    public void upstreamFallback(String upstream, String cardId, String endpoint) {
+        Counter.builder(UPSTREAM_FALLBACKS)
+                .description("Upstream calls that failed over to an alternative endpoint or data source")
+                .tags(upstreamTags(upstream, cardId, endpoint))
+                .register(registry)
+                .increment();
+    }
+
+    public void authFailure(String reason) {
+        Counter.builder(AUTH_FAILURES)
+                .description("Rejected logins and unauthenticated API requests")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void cacheLookup(String cache, String result) {
+        Counter.builder(CACHE_REQUESTS)
+                .description("Lookups in in-process caches")
+                .tags("cache", cache, "result", result)
+                .register(registry)
+                .increment();
+    }
+
+    public void registerSshSessionGauge(Map<?, ?> runtimes) {
+        registry.gaugeMapSize(SSH_SESSIONS, Tags.empty(), runtimes);
+    }
+
+    static String endpointTag(String path) {
+        if (path == null || path.isEmpty()) {
+            return "none";
+        }
+        int query = path.indexOf('?');
+        String bare = query < 0 ? path : path.substring(0, query);
+        String[] segments = bare.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_SEGMENT.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private Tags upstreamTags(String upstream, String cardId, String endpoint) {
+        return Tags.of("upstream", upstream, "card", cardId == null ? "none" : cardId, "endpoint", endpointTag(endpoint));
+    }
+
+    private String outcomeOf(Object result) {
+        if (result instanceof HttpResponse<?> response) {
+            int status = response.statusCode();
+            return status >= 200 && status < 300 ? "success" : "http_" + status / 100 + "xx";
+        }
+        return "success";
+    }
+}
@@ -2,11 +2,22 @@ package com.pw.nexusnav.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "nexusnav")
 public class NexusNavProperties {
 
     private String configPath;
     private String navPath;
+    private String blobPath = "./data/blobs";
+    private final SshRecording sshRecording = new SshRecording();
+    private final IconCache iconCache = new IconCache();
+    private final ConfigWatch configWatch = new ConfigWatch();
+    private final ServerTiming serverTiming = new ServerTiming();
+    private final Session session = new Session();
+    private final Login login = new Login();
+    private final Network network = new Network();
 
     public String getConfigPath() {
         return configPath;
@@ -23,4 +34,277 @@ public class NexusNavProperties {
     public void setNavPath(String navPath) {
         this.navPath = navPath;
     }
+
+    public String getBlobPath() {
+        return blobPath;
+    }
+
+    public void setBlobPath(String blobPath) {
+        this.blobPath = blobPath;
+    }
+
+    public SshRecording getSshRecording() {
+        return sshRecording;
+    }
+
+    public IconCache getIconCache() {
+        return iconCache;
+    }
+
+    public ConfigWatch getConfigWatch() {
+        return configWatch;
+    }
+
+    public ServerTiming getServerTiming() {
+        return serverTiming;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public Login getLogin() {
+        return login;
+    }
+
+    public Network getNetwork() {
+        return network;
+    }
+
+    public static class SshRecording {
+        private boolean enabled;
+        private String path = "./data/recordings";
+        private boolean recordInput;
+        private long maxPendingBytes = 16L * 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public boolean isRecordInput() {
+            return recordInput;
+        }
+
+        public void setRecordInput(boolean recordInput) {
+            this.recordInput = recordInput;
+        }
+
+        public long getMaxPendingBytes() {
+            return maxPendingBytes;
+        }
+
+        public void setMaxPendingBytes(long maxPendingBytes) {
+            this.maxPendingBytes = maxPendingBytes;
+        }
+    }
+
+    public static class IconCache {
+        private String path = "./data/icons";
+        private int size = 64;
+        private long memoryMaxBytes = 8L * 1024 * 1024;
+        private long diskMaxBytes = 64L * 1024 * 1024;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public long getMemoryMaxBytes() {
+            return memoryMaxBytes;
+        }
+
+        public void setMemoryMaxBytes(long memoryMaxBytes) {
+            this.memoryMaxBytes = memoryMaxBytes;
+        }
+
+        public long getDiskMaxBytes() {
+            return diskMaxBytes;
+        }
+
+        public void setDiskMaxBytes(long diskMaxBytes) {
+            this.diskMaxBytes = diskMaxBytes;
+        }
+    }
+
+    public static class ConfigWatch {
+        private boolean enabled = true;
+        private long debounceMillis = 300;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getDebounceMillis() {
+            return debounceMillis;
+        }
+
+        public void setDebounceMillis(long debounceMillis) {
+            this.debounceMillis = debounceMillis;
+        }
+    }
+
+    public static class ServerTiming {
+        private boolean enabled = true;
+        private boolean logEnabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isLogEnabled() {
+            return logEnabled;
+        }
+
+        public void setLogEnabled(boolean logEnabled) {
+            this.logEnabled = logEnabled;
+        }
+    }
+
+    public static class Session {
+        private int maxSessions = 10000;
+        private long sweepIntervalSeconds = 60;
+        private boolean signedTokens;
+        private String signingKey;
+        private boolean persistent = true;
+        private long flushIntervalMillis = 1000;
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public void setMaxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+        }
+
+        public long getSweepIntervalSeconds() {
+            return sweepIntervalSeconds;
+        }
+
+        public void setSweepIntervalSeconds(long sweepIntervalSeconds) {
+            this.sweepIntervalSeconds = sweepIntervalSeconds;
+        }
+
+        public boolean isSignedTokens() {
+            return signedTokens;
+        }
+
+        public void setSignedTokens(boolean signedTokens) {
+            this.signedTokens = signedTokens;
+        }
+
+        public String getSigningKey() {
+            return signingKey;
+        }
+
+        public void setSigningKey(String signingKey) {
+            this.signingKey = signingKey;
+        }
+
+        public boolean isPersistent() {
+            return persistent;
+        }
+
+        public void setPersistent(boolean persistent) {
+            this.persistent = persistent;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+    }
+
+    public static class Login {
+        private int attemptsPerMinute = 10;
+        private int burst = 10;
+        private int hashThreads;
+        private int hashQueue = 16;
+
+        public int getAttemptsPerMinute() {
+            return attemptsPerMinute;
+        }
+
+        public void setAttemptsPerMinute(int attemptsPerMinute) {
+            this.attemptsPerMinute = attemptsPerMinute;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getHashThreads() {
+            return hashThreads;
+        }
+
+        public void setHashThreads(int hashThreads) {
+            this.hashThreads = hashThreads;
+        }
+
+        public int getHashQueue() {
+            return hashQueue;
+        }
+
+        public void setHashQueue(int hashQueue) {
+            this.hashQueue = hashQueue;
+        }
+    }
+
+    public static class Network {
+        private List<String> lanCidrs = new ArrayList<>();
+        private List<String> trustedProxies = new ArrayList<>();
+
+        public List<String> getLanCidrs() {
+            return lanCidrs;
+        }
+
+        public void setLanCidrs(List<String> lanCidrs) {
+            this.lanCidrs = lanCidrs;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.pw.nexusnav.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Reports time spent in Spring Data repository calls as the {@code db} phase of {@link RequestTimings}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryTimingConfig {
+
+    private static final MethodInterceptor TIMING = invocation -> {
+        long start = RequestTimings.start();
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestTimings.record(RequestTimings.DB, start);
+        }
+    };
+
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(TIMING)
+                    ));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.pw.nexusnav.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Per-request phase durations, collected on the request thread and reported by {@link ServerTimingFilter}.
+ * <p>
+ * Recording is a no-op outside an API request (startup import, file watcher, benchmarks), so services can call
+ * it unconditionally. Phases may nest; each one is reported on its own and they are not meant to add up.
+ */
+public final class RequestTimings {
+
+    public static final String AUTH = "auth";
+    public static final String CONFIG = "cfg";
+    public static final String DB = "db";
+    public static final String MAPPING = "map";
+    public static final String UPSTREAM = "upstream";
+    public static final String SERIALIZATION = "ser";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static long start() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    public static void record(String phase, long startNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && startNanos != 0L) {
+            timings.phases.computeIfAbsent(phase, key -> new Phase()).add(System.nanoTime() - startNanos);
+        }
+    }
+
+    public static <T> T time(String phase, Supplier<T> action) {
+        long start = start();
+        try {
+            return action.get();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the phases as a {@code Server-Timing} value, e.g. {@code db;desc="3x";dur=1.2, app;dur=4.0}.
+     */
+    String toHeaderValue() {
+        StringJoiner joiner = new StringJoiner(", ");
+        phases.forEach((name, phase) -> joiner.add(name
+                + (phase.count > 1 ? ";desc=\"" + phase.count + "x\"" : "")
+                + ";dur=" + millis(phase.nanos)));
+        joiner.add("app;dur=" + millis(elapsedNanos()));
+        return joiner.toString();
+    }
+
+    /**
+     * Formats the phases as {@code key=value} pairs for the request log line.
+     */
+    String toLogFields() {
+        StringJoiner joiner = new StringJoiner(", ");
+        phases.forEach((name, phase) -> joiner.add(name + "Ms=" + millis(phase.nanos)));
+        return joiner.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Phase {
+        private long nanos;
+        private int count;
+
+        private void add(long elapsed) {
+            nanos += elapsed;
+            count++;
+        }
+    }
+}
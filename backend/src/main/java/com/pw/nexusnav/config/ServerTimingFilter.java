@@ -0,0 +1,111 @@
+package com.pw.nexusnav.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a {@code Server-Timing} header with the {@link RequestTimings} phases of an API request, and optionally logs
+ * them. The header is written just before the body starts, so a body streamed by the message converter is only
+ * covered by the log line; responses served from {@code ResponseCacheService} report their serialization as
+ * {@code ser}.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final NexusNavProperties.ServerTiming settings;
+
+    public ServerTimingFilter(NexusNavProperties.ServerTiming settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !settings.isEnabled() && !settings.isLogEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        TimingResponse timingResponse = new TimingResponse(response, timings, settings.isEnabled());
+        try {
+            chain.doFilter(request, timingResponse);
+            timingResponse.writeHeader();
+        } finally {
+            RequestTimings.end();
+            if (settings.isLogEnabled()) {
+                String fields = timings.toLogFields();
+                log.info("Request timing: method={}, path={}, status={}, totalMs={}{}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        TimeUnit.NANOSECONDS.toMillis(timings.elapsedNanos()),
+                        fields.isEmpty() ? "" : ", " + fields);
+            }
+        }
+    }
+
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private final boolean headerEnabled;
+        private boolean headerWritten;
+
+        private TimingResponse(HttpServletResponse response, RequestTimings timings, boolean headerEnabled) {
+            super(response);
+            this.timings = timings;
+            this.headerEnabled = headerEnabled;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        private void writeHeader() {
+            if (headerWritten || !headerEnabled || isCommitted()) {
+                return;
+            }
+            headerWritten = true;
+            setHeader(HEADER, timings.toHeaderValue());
+        }
+    }
+}
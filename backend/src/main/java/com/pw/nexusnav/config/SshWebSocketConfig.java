@@ -26,10 +26,12 @@ public class SshWebSocketConfig implements WebSocketConfigurer {
     private static final Logger log = LoggerFactory.getLogger(SshWebSocketConfig.class);
     private final SshWebSocketHandler sshWebSocketHandler;
     private final AuthService authService;
+    private final NexusNavMetrics metrics;
 
-    public SshWebSocketConfig(SshWebSocketHandler sshWebSocketHandler, AuthService authService) {
+    public SshWebSocketConfig(SshWebSocketHandler sshWebSocketHandler, AuthService authService, NexusNavMetrics metrics) {
         this.sshWebSocketHandler = sshWebSocketHandler;
         this.authService = authService;
+        this.metrics = metrics;
     }
 
     @Override
@@ -64,6 +66,7 @@ public class SshWebSocketConfig implements WebSocketConfigurer {
                         String token = authService.extractSessionToken(rawRequest);
                         boolean valid = token != null && authService.isSessionValid(token);
                         if (!valid) {
+                            metrics.authFailure("ssh_handshake");
                             log.warn("SSH websocket handshake rejected: reason=unauthorized, cardId={}", cardId.trim());
                         }
                         return valid;
@@ -0,0 +1,33 @@
+package com.pw.nexusnav.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+@Component
+public class StartupTimingLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingLogger.class);
+
+    // Parsed by scripts/startup-benchmark.sh; keep the key names stable.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void logReady(ApplicationReadyEvent event) {
+        long jvmUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        long contextMs = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+        log.info("Application ready: timeToReadyMs={}, contextMs={}, cds={}, aot={}, native={}",
+                jvmUptimeMs,
+                contextMs,
+                ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                        .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile")),
+                Boolean.getBoolean("spring.aot.enabled") || NativeDetector.inNativeImage(),
+                NativeDetector.inNativeImage());
+    }
+}
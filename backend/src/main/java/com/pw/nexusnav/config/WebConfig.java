@@ -1,9 +1,13 @@
 package com.pw.nexusnav.config;
 
 import com.pw.nexusnav.service.AuthService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.http.MediaType;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -14,9 +18,23 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final AuthService authService;
+    private final NexusNavMetrics metrics;
+    private final NexusNavProperties properties;
 
-    public WebConfig(AuthService authService) {
+    public WebConfig(AuthService authService, NexusNavMetrics metrics, NexusNavProperties properties) {
         this.authService = authService;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(properties.getServerTiming()));
+        registration.addUrlPatterns("/api/*");
+        // Outermost, so the reported total covers every other filter.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
 
     @Override
@@ -30,7 +48,7 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new AuthInterceptor(authService))
+        registry.addInterceptor(new AuthInterceptor(authService, metrics))
                 .addPathPatterns("/api/v1/**")
                 .excludePathPatterns(
                         "/api/v1/auth/login",
@@ -42,29 +60,36 @@ public class WebConfig implements WebMvcConfigurer {
     static class AuthInterceptor implements HandlerInterceptor {
 
         private final AuthService authService;
+        private final NexusNavMetrics metrics;
 
-        AuthInterceptor(AuthService authService) {
+        AuthInterceptor(AuthService authService, NexusNavMetrics metrics) {
             this.authService = authService;
+            this.metrics = metrics;
         }
 
         @Override
         public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-            if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            // The initial dispatch of an async request was already authorized.
+            if ("OPTIONS".equalsIgnoreCase(request.getMethod()) || request.getDispatcherType() == DispatcherType.ASYNC) {
                 return true;
             }
-            if (!authService.isSecurityEnabled()) {
-                return true;
-            }
-
-            String token = authService.extractSessionToken(request);
-            if (token != null && authService.isSessionValid(token)) {
+            if (RequestTimings.time(RequestTimings.AUTH, () -> isAuthorized(request))) {
                 return true;
             }
 
+            metrics.authFailure(authService.extractSessionToken(request) == null ? "missing_session" : "invalid_session");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
             response.getWriter().write("{\"code\":401,\"message\":\"Unauthorized\",\"data\":null}");
             return false;
         }
+
+        private boolean isAuthorized(HttpServletRequest request) {
+            if (!authService.isSecurityEnabled()) {
+                return true;
+            }
+            String token = authService.extractSessionToken(request);
+            return token != null && authService.isSessionValid(token);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.pw.nexusnav.controller;
+
+import com.pw.nexusnav.service.BlobStoreService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/assets")
+public class AssetController {
+
+    // Assets are addressed by content hash, so a URL never serves different bytes.
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final BlobStoreService blobStoreService;
+
+    public AssetController(BlobStoreService blobStoreService) {
+        this.blobStoreService = blobStoreService;
+    }
+
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getAsset(
+            @PathVariable String hash,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        BlobStoreService.StoredBlob blob = blobStoreService.find(hash).orElse(null);
+        if (blob == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + blob.hash() + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+        // Range requests on a Resource body are answered with 206 by the resource message converter.
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(IMMUTABLE)
+                .contentType(MediaType.parseMediaType(blob.contentType()))
+                .body(new FileSystemResource(blob.path()));
+    }
+}
@@ -1,9 +1,12 @@
 package com.pw.nexusnav.controller;
 
+import com.pw.nexusnav.config.ClientIpResolver;
+import com.pw.nexusnav.config.NexusNavMetrics;
 import com.pw.nexusnav.dto.ApiResponse;
 import com.pw.nexusnav.dto.AuthLoginRequest;
 import com.pw.nexusnav.dto.VerifyConfigRequest;
 import com.pw.nexusnav.service.AuthService;
+import com.pw.nexusnav.service.LoginRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
@@ -16,37 +19,61 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ClientIpResolver clientIpResolver;
+    private final NexusNavMetrics metrics;
 
-    public AuthController(AuthService authService) {
+    public AuthController(
+            AuthService authService,
+            LoginRateLimiter loginRateLimiter,
+            ClientIpResolver clientIpResolver,
+            NexusNavMetrics metrics
+    ) {
         this.authService = authService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.clientIpResolver = clientIpResolver;
+        this.metrics = metrics;
     }
 
+    /**
+     * Completes asynchronously once the password check has run, so the request thread is released meanwhile.
+     */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> login(@Valid @RequestBody AuthLoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, Object>>>> login(
+            @Valid @RequestBody AuthLoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
         if (!authService.isSecurityEnabled()) {
-            return ResponseEntity.ok(ApiResponse.ok(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.ok(ApiResponse.ok(Map.of(
                     "authenticated", true,
                     "securityEnabled", false
-            )));
+            ))));
         }
-        if (!authService.validatePassword(request.getPassword())) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid password"));
+        ResponseEntity<ApiResponse<Map<String, Object>>> throttled = throttle(httpRequest);
+        if (throttled != null) {
+            return CompletableFuture.completedFuture(throttled);
         }
-
-        String token = authService.createSession();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, authService.buildSessionCookie(token).toString())
-                .body(ApiResponse.ok(Map.of(
-                        "authenticated", true,
-                        "securityEnabled", true,
-                        "sessionTimeoutMinutes", authService.getSessionTimeoutMinutes()
-                )));
+        return authService.validatePassword(request.getPassword()).thenApply(valid -> {
+            if (!valid) {
+                metrics.authFailure("login");
+                return ResponseEntity.status(401).body(ApiResponse.error("Invalid password"));
+            }
+            String token = authService.createSession();
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, authService.buildSessionCookie(token).toString())
+                    .body(ApiResponse.ok(Map.of(
+                            "authenticated", true,
+                            "securityEnabled", true,
+                            "sessionTimeoutMinutes", authService.getSessionTimeoutMinutes()
+                    )));
+        });
     }
 
     @PostMapping("/logout")
@@ -76,12 +103,33 @@ public class AuthController {
     }
 
     @PostMapping("/verify-config")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> verifyConfig(@Valid @RequestBody VerifyConfigRequest request) {
-        if (!authService.validatePassword(request.getPassword())) {
-            return ResponseEntity.status(401).body(ApiResponse.error("Invalid password"));
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, Object>>>> verifyConfig(
+            @Valid @RequestBody VerifyConfigRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        ResponseEntity<ApiResponse<Map<String, Object>>> throttled = throttle(httpRequest);
+        if (throttled != null) {
+            return CompletableFuture.completedFuture(throttled);
         }
+        return authService.validatePassword(request.getPassword()).thenApply(valid -> {
+            if (!valid) {
+                metrics.authFailure("verify_config");
+                return ResponseEntity.status(401).body(ApiResponse.error("Invalid password"));
+            }
+            String token = authService.createConfigVerifyToken();
+            return ResponseEntity.ok(ApiResponse.ok(Map.of("verifyToken", token, "expiresInSeconds", 300)));
+        });
+    }
 
-        String token = authService.createConfigVerifyToken();
-        return ResponseEntity.ok(ApiResponse.ok(Map.of("verifyToken", token, "expiresInSeconds", 300)));
+    private ResponseEntity<ApiResponse<Map<String, Object>>> throttle(HttpServletRequest request) {
+        String clientIp = clientIpResolver.resolve(request);
+        long retryAfterSeconds = loginRateLimiter.tryAcquire(clientIp);
+        if (retryAfterSeconds == 0) {
+            return null;
+        }
+        metrics.authFailure("rate_limited");
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ApiResponse.error("Too many attempts, retry in " + retryAfterSeconds + "s"));
     }
 }
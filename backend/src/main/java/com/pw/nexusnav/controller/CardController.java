@@ -1,14 +1,21 @@
 package com.pw.nexusnav.controller;
 
-import com.pw.nexusnav.config.IpUtils;
+import com.pw.nexusnav.config.ClientIpResolver;
 import com.pw.nexusnav.dto.ApiResponse;
+import com.pw.nexusnav.dto.BulkCardRequest;
+import com.pw.nexusnav.dto.BulkCardResultDTO;
 import com.pw.nexusnav.dto.CardDTO;
 import com.pw.nexusnav.dto.CardOrderItemDTO;
+import com.pw.nexusnav.dto.CardSearchHitDTO;
 import com.pw.nexusnav.dto.CreateCardRequest;
 import com.pw.nexusnav.dto.UpdateCardRequest;
 import com.pw.nexusnav.service.CardService;
+import com.pw.nexusnav.service.ResponseCacheService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,25 +32,51 @@ import java.util.Map;
 public class CardController {
 
     private final CardService cardService;
+    private final ResponseCacheService responseCacheService;
+    private final ClientIpResolver clientIpResolver;
 
-    public CardController(CardService cardService) {
+    public CardController(
+            CardService cardService,
+            ResponseCacheService responseCacheService,
+            ClientIpResolver clientIpResolver
+    ) {
         this.cardService = cardService;
+        this.responseCacheService = responseCacheService;
+        this.clientIpResolver = clientIpResolver;
     }
 
     @GetMapping
-    public ApiResponse<List<CardDTO>> listCards(
+    public ResponseEntity<?> listCards(
             @RequestParam(required = false) String groupId,
             @RequestParam(required = false) String q,
             @RequestParam(required = false) Boolean enabled,
             HttpServletRequest request
     ) {
-        String clientIp = IpUtils.extractClientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
-        return ApiResponse.ok(cardService.listCards(groupId, q, enabled, clientIp));
+        String clientIp = clientIpResolver.resolve(request);
+        if (StringUtils.hasText(groupId) || StringUtils.hasText(q) || enabled != null) {
+            return ResponseEntity.ok(ApiResponse.ok(cardService.listCards(groupId, q, enabled, clientIp)));
+        }
+        String networkMode = cardService.resolveEffectiveNetworkMode(clientIp);
+        return responseCacheService.getNavScoped(
+                ResponseCacheService.CARDS,
+                networkMode,
+                () -> cardService.listCards(null, null, null, clientIp)
+        ).toResponseEntity(request.getHeader(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @GetMapping("/search")
+    public ApiResponse<List<CardSearchHitDTO>> searchCards(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request
+    ) {
+        String clientIp = clientIpResolver.resolve(request);
+        return ApiResponse.ok(cardService.searchCards(q, limit, clientIp));
     }
 
     @GetMapping("/{cardId}")
     public ApiResponse<CardDTO> getCard(@PathVariable String cardId, HttpServletRequest request) {
-        String clientIp = IpUtils.extractClientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+        String clientIp = clientIpResolver.resolve(request);
         return ApiResponse.ok(cardService.getCard(cardId, clientIp));
     }
 
@@ -52,7 +85,7 @@ public class CardController {
             @Valid @RequestBody CreateCardRequest payload,
             HttpServletRequest request
     ) {
-        String clientIp = IpUtils.extractClientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+        String clientIp = clientIpResolver.resolve(request);
         return ApiResponse.ok(cardService.create(payload, clientIp));
     }
 
@@ -62,7 +95,7 @@ public class CardController {
             @Valid @RequestBody UpdateCardRequest payload,
             HttpServletRequest request
     ) {
-        String clientIp = IpUtils.extractClientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+        String clientIp = clientIpResolver.resolve(request);
         return ApiResponse.ok(cardService.update(cardId, payload, clientIp));
     }
 
@@ -72,6 +105,15 @@ public class CardController {
         return ApiResponse.ok(null);
     }
 
+    @PostMapping("/bulk")
+    public ApiResponse<List<BulkCardResultDTO>> bulk(
+            @Valid @RequestBody BulkCardRequest payload,
+            HttpServletRequest request
+    ) {
+        String clientIp = clientIpResolver.resolve(request);
+        return ApiResponse.ok(cardService.bulk(payload, clientIp));
+    }
+
     @PostMapping("/order")
     public ApiResponse<Map<String, Object>> updateOrder(@Valid @RequestBody List<CardOrderItemDTO> items) {
         int updated = cardService.updateOrder(items);
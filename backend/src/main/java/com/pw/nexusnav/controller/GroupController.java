@@ -5,29 +5,36 @@ import com.pw.nexusnav.dto.CreateGroupRequest;
 import com.pw.nexusnav.dto.GroupDTO;
 import com.pw.nexusnav.dto.UpdateGroupRequest;
 import com.pw.nexusnav.service.GroupService;
+import com.pw.nexusnav.service.ResponseCacheService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1/groups")
 public class GroupController {
 
     private final GroupService groupService;
+    private final ResponseCacheService responseCacheService;
 
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, ResponseCacheService responseCacheService) {
         this.groupService = groupService;
+        this.responseCacheService = responseCacheService;
     }
 
     @GetMapping
-    public ApiResponse<List<GroupDTO>> listGroups() {
-        return ApiResponse.ok(groupService.listGroups());
+    public ResponseEntity<byte[]> listGroups(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return responseCacheService.getNavScoped(ResponseCacheService.GROUPS, null, groupService::listGroups)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @PostMapping
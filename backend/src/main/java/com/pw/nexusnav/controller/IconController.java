@@ -0,0 +1,69 @@
+package com.pw.nexusnav.controller;
+
+import com.pw.nexusnav.config.ClientIpResolver;
+import com.pw.nexusnav.dto.CardDTO;
+import com.pw.nexusnav.service.CardService;
+import com.pw.nexusnav.service.IconCacheService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/icons")
+public class IconController {
+
+    // Versioned URLs (?v=) never change content; unversioned ones must revalidate.
+    private static final CacheControl VERSIONED = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    private static final CacheControl UNVERSIONED = CacheControl.noCache().cachePrivate();
+    private static final CacheControl MISSING = CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
+    private final CardService cardService;
+    private final IconCacheService iconCacheService;
+    private final ClientIpResolver clientIpResolver;
+
+    public IconController(CardService cardService, IconCacheService iconCacheService, ClientIpResolver clientIpResolver) {
+        this.cardService = cardService;
+        this.iconCacheService = iconCacheService;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @GetMapping("/{cardId}")
+    public ResponseEntity<byte[]> getIcon(
+            @PathVariable String cardId,
+            @RequestParam(value = "v", required = false) String version,
+            HttpServletRequest request
+    ) {
+        String clientIp = clientIpResolver.resolve(request);
+        CardDTO card = cardService.getCard(cardId, clientIp);
+        IconCacheService.CachedIcon icon = iconCacheService.getIcon(card.icon()).orElse(null);
+        if (icon == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).cacheControl(MISSING).build();
+        }
+
+        // Weak, so SVG icons stay eligible for response compression; If-None-Match compares the opaque tag only.
+        String etag = "W/\"" + icon.version() + "\"";
+        CacheControl cacheControl = icon.version().equals(version) ? VERSIONED : UNVERSIONED;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag.substring(2))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(icon.contentType()))
+                // Remote SVGs are served from our origin; keep them inert if opened directly.
+                .header("Content-Security-Policy", "default-src 'none'; style-src 'unsafe-inline'; sandbox")
+                .header("X-Content-Type-Options", "nosniff")
+                .body(icon.body());
+    }
+}
@@ -1,13 +1,15 @@
 package com.pw.nexusnav.controller;
 
-import com.pw.nexusnav.config.IpUtils;
+import com.pw.nexusnav.config.ClientIpResolver;
 import com.pw.nexusnav.dto.ApiResponse;
 import com.pw.nexusnav.dto.AdminConfigDTO;
 import com.pw.nexusnav.dto.AdminConfigUpdateRequest;
-import com.pw.nexusnav.dto.SystemConfigDTO;
+import com.pw.nexusnav.service.ResponseCacheService;
 import com.pw.nexusnav.service.SystemConfigService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -19,15 +21,28 @@ import org.springframework.web.bind.annotation.RestController;
 public class SystemController {
 
     private final SystemConfigService systemConfigService;
+    private final ResponseCacheService responseCacheService;
+    private final ClientIpResolver clientIpResolver;
 
-    public SystemController(SystemConfigService systemConfigService) {
+    public SystemController(
+            SystemConfigService systemConfigService,
+            ResponseCacheService responseCacheService,
+            ClientIpResolver clientIpResolver
+    ) {
         this.systemConfigService = systemConfigService;
+        this.responseCacheService = responseCacheService;
+        this.clientIpResolver = clientIpResolver;
     }
 
     @GetMapping("/config")
-    public ApiResponse<SystemConfigDTO> getConfig(HttpServletRequest request) {
-        String clientIp = IpUtils.extractClientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
-        return ApiResponse.ok(systemConfigService.getConfigForIp(clientIp));
+    public ResponseEntity<byte[]> getConfig(HttpServletRequest request) {
+        String clientIp = clientIpResolver.resolve(request);
+        String networkMode = systemConfigService.resolveEffectiveNetworkMode(clientIp);
+        return responseCacheService.getSystemScoped(
+                ResponseCacheService.SYSTEM_CONFIG,
+                networkMode,
+                () -> systemConfigService.getConfigForIp(clientIp)
+        ).toResponseEntity(request.getHeader(HttpHeaders.IF_NONE_MATCH));
     }
 
     @GetMapping("/admin-config")
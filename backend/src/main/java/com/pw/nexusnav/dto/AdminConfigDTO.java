@@ -9,7 +9,7 @@ public class AdminConfigDTO {
     private String defaultSearchEngineId;
     private boolean dailySentenceEnabled;
     private String backgroundType;
-    private String backgroundImageDataUrl;
+    private String backgroundImageHash;
     private List<SearchEngineItemDTO> searchEngines = new ArrayList<>();
     private SecurityDTO security;
 
@@ -45,12 +45,12 @@ public class AdminConfigDTO {
         this.backgroundType = backgroundType;
     }
 
-    public String getBackgroundImageDataUrl() {
-        return backgroundImageDataUrl;
+    public String getBackgroundImageHash() {
+        return backgroundImageHash;
     }
 
-    public void setBackgroundImageDataUrl(String backgroundImageDataUrl) {
-        this.backgroundImageDataUrl = backgroundImageDataUrl;
+    public void setBackgroundImageHash(String backgroundImageHash) {
+        this.backgroundImageHash = backgroundImageHash;
     }
 
     public List<SearchEngineItemDTO> getSearchEngines() {
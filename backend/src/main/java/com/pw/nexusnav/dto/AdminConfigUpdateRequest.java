@@ -27,6 +27,9 @@ public class AdminConfigUpdateRequest {
 
     private String backgroundImageDataUrl;
 
+    @Pattern(regexp = "^[0-9a-f]{64}$")
+    private String backgroundImageHash;
+
     @NotNull
     @Valid
     private List<SearchEngineItemRequest> searchEngines = new ArrayList<>();
@@ -78,6 +81,14 @@ public class AdminConfigUpdateRequest {
         this.backgroundImageDataUrl = backgroundImageDataUrl;
     }
 
+    public String getBackgroundImageHash() {
+        return backgroundImageHash;
+    }
+
+    public void setBackgroundImageHash(String backgroundImageHash) {
+        this.backgroundImageHash = backgroundImageHash;
+    }
+
     public List<SearchEngineItemRequest> getSearchEngines() {
         return searchEngines;
     }
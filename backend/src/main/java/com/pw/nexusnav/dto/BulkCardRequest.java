@@ -0,0 +1,95 @@
+package com.pw.nexusnav.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCardRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<Operation> operations = new ArrayList<>();
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    public static class Operation {
+
+        @NotBlank
+        @Pattern(regexp = "^(create|update|delete|move)$")
+        private String op;
+
+        @Size(max = 64)
+        private String cardId;
+
+        @Valid
+        private CreateCardRequest create;
+
+        @Valid
+        private UpdateCardRequest update;
+
+        @Size(max = 64)
+        private String groupId;
+
+        private Integer orderIndex;
+
+        public String getOp() {
+            return op;
+        }
+
+        public void setOp(String op) {
+            this.op = op;
+        }
+
+        public String getCardId() {
+            return cardId;
+        }
+
+        public void setCardId(String cardId) {
+            this.cardId = cardId;
+        }
+
+        public CreateCardRequest getCreate() {
+            return create;
+        }
+
+        public void setCreate(CreateCardRequest create) {
+            this.create = create;
+        }
+
+        public UpdateCardRequest getUpdate() {
+            return update;
+        }
+
+        public void setUpdate(UpdateCardRequest update) {
+            this.update = update;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public void setGroupId(String groupId) {
+            this.groupId = groupId;
+        }
+
+        public Integer getOrderIndex() {
+            return orderIndex;
+        }
+
+        public void setOrderIndex(Integer orderIndex) {
+            this.orderIndex = orderIndex;
+        }
+    }
+}
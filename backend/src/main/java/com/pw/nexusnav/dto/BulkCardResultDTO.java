@@ -0,0 +1,9 @@
+package com.pw.nexusnav.dto;
+
+public record BulkCardResultDTO(
+        int index,
+        String op,
+        String cardId,
+        CardDTO card
+) {
+}
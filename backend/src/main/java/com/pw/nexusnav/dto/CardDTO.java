@@ -19,6 +19,7 @@ public record CardDTO(
         String transmissionUsername,
         String transmissionPassword,
         String icon,
+        String iconVersion,
         String description,
         int orderIndex,
         boolean enabled,
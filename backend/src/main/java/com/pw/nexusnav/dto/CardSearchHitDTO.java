@@ -0,0 +1,9 @@
+package com.pw.nexusnav.dto;
+
+public record CardSearchHitDTO(
+        CardDTO card,
+        String nameHighlight,
+        String descriptionHighlight,
+        double score
+) {
+}
@@ -11,7 +11,7 @@ public record SystemConfigDTO(
         boolean requireAuthForConfig,
         boolean dailySentenceEnabled,
         String backgroundType,
-        String backgroundImageDataUrl
+        String backgroundImageHash
 ) {
     public record SearchEngineDTO(String id, String name, String searchUrlTemplate, String icon) {
     }
@@ -8,6 +8,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import java.util.Locale;
+
 @Entity
 @Table(name = "cards")
 public class CardEntity {
@@ -71,6 +73,13 @@ public class CardEntity {
     @Column(length = 512)
     private String description;
 
+    // Case-folded copies for keyword filtering, kept in sync by the setters: SQLite's lower() only folds ASCII.
+    @Column(name = "search_name", length = 128)
+    private String searchName;
+
+    @Column(name = "search_description", length = 512)
+    private String searchDescription;
+
     @Column(name = "order_index", nullable = false)
     private int orderIndex;
 
@@ -102,6 +111,7 @@ public class CardEntity {
 
     public void setName(String name) {
         this.name = name;
+        this.searchName = foldForSearch(name);
     }
 
     public String getUrl() {
@@ -230,6 +240,7 @@ public class CardEntity {
 
     public void setDescription(String description) {
         this.description = description;
+        this.searchDescription = foldForSearch(description);
     }
 
     public int getOrderIndex() {
@@ -255,4 +266,12 @@ public class CardEntity {
     public void setHealthCheckEnabled(boolean healthCheckEnabled) {
         this.healthCheckEnabled = healthCheckEnabled;
     }
+
+    /**
+     * The case folding used for {@code search_name} and {@code search_description}; keywords must be folded the same
+     * way before they are matched against those columns.
+     */
+    public static String foldForSearch(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
 }
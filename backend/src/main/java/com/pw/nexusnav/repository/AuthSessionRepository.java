@@ -0,0 +1,61 @@
+package com.pw.nexusnav.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists auth tokens in the {@code auth_sessions} table created in V12, so logins survive a restart. Rows are
+ * keyed by the token's SHA-256, never the token itself.
+ * Written in batches by {@code SessionPersistence}; the in-memory stores in {@code AuthService} stay the read path.
+ */
+@Repository
+public class AuthSessionRepository {
+
+    private static final String UPSERT_SQL = "INSERT OR REPLACE INTO auth_sessions (token_hash, kind, expires_at) VALUES (?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM auth_sessions WHERE token_hash = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuthSessionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Row> findActive(long nowMillis) {
+        return jdbcTemplate.query(
+                "SELECT token_hash, kind, expires_at FROM auth_sessions WHERE expires_at >= ? ORDER BY expires_at",
+                (rs, rowNum) -> new Row(rs.getString("token_hash"), rs.getString("kind"), rs.getLong("expires_at")),
+                nowMillis);
+    }
+
+    public void upsertAll(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            args.add(new Object[]{row.tokenHash(), row.kind(), row.expiresAtMillis()});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+    }
+
+    public void deleteAll(List<String> tokenHashes) {
+        if (tokenHashes.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(tokenHashes.size());
+        for (String tokenHash : tokenHashes) {
+            args.add(new Object[]{tokenHash});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, args);
+    }
+
+    public int deleteExpired(long nowMillis) {
+        return jdbcTemplate.update("DELETE FROM auth_sessions WHERE expires_at < ?", nowMillis);
+    }
+
+    public record Row(String tokenHash, String kind, long expiresAtMillis) {
+    }
+}
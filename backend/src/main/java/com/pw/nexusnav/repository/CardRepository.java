@@ -2,9 +2,14 @@ package com.pw.nexusnav.repository;
 
 import com.pw.nexusnav.entity.CardEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 
-public interface CardRepository extends JpaRepository<CardEntity, String> {
+public interface CardRepository extends JpaRepository<CardEntity, String>, JpaSpecificationExecutor<CardEntity> {
     List<CardEntity> findAllByOrderByOrderIndexAscNameAsc();
+
+    List<CardEntity> findAllByEnabledTrueOrderByOrderIndexAscNameAsc();
+
+    boolean existsBySearchNameIsNull();
 }
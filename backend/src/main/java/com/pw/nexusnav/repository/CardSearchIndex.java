@@ -0,0 +1,203 @@
+package com.pw.nexusnav.repository;
+
+import com.pw.nexusnav.config.RequestTimings;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and queries the {@code card_search} FTS5 table (trigram tokenizer).
+ * The index is derived data: on every nav sync it is diffed against {@code cards} and {@code groups}, and only
+ * rows that changed are written.
+ */
+@Repository
+public class CardSearchIndex {
+
+    public static final char HIGHLIGHT_START = '\u0001';
+    public static final char HIGHLIGHT_END = '\u0002';
+
+    // The trigram tokenizer cannot match terms shorter than this; they are matched with LIKE instead.
+    private static final int MIN_MATCH_LENGTH = 3;
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final String DOCUMENTS_SQL = """
+            SELECT c.id,
+                   c.name,
+                   COALESCE(c.description, ''),
+                   TRIM(COALESCE(c.url, '') || ' ' || COALESCE(c.lan_url, '') || ' ' || COALESCE(c.wan_url, '')),
+                   COALESCE(g.name, '')
+            FROM cards c
+            LEFT JOIN "groups" g ON g.id = c.group_id
+            """;
+
+    private static final String INDEXED_SQL = "SELECT rowid, card_id, name, description, urls, group_name FROM card_search";
+    private static final String INSERT_SQL =
+            "INSERT INTO card_search (card_id, name, description, urls, group_name) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE card_search SET name = ?, description = ?, urls = ?, group_name = ? WHERE rowid = ?";
+    private static final String DELETE_SQL = "DELETE FROM card_search WHERE rowid = ?";
+
+    private static final String SHORT_TERM_FILTER = "(name LIKE ? ESCAPE '\\' OR description LIKE ? ESCAPE '\\'"
+            + " OR urls LIKE ? ESCAPE '\\' OR group_name LIKE ? ESCAPE '\\')";
+
+    // Column weights follow the table layout: card_id, name, description, urls, group_name.
+    private static final String SEARCH_SQL = """
+            SELECT card_id,
+                   bm25(card_search, 0.0, 10.0, 2.0, 1.0, 3.0) AS score,
+                   highlight(card_search, 1, char(1), char(2)) AS name_highlight,
+                   snippet(card_search, 2, char(1), char(2), '...', 16) AS description_highlight
+            FROM card_search
+            WHERE card_search MATCH ?
+            """;
+
+    // Only short terms: no MATCH, so no ranking or highlights; name hits first.
+    private static final String SCAN_SQL = """
+            SELECT card_id,
+                   0.0 AS score,
+                   name AS name_highlight,
+                   NULL AS description_highlight
+            FROM card_search
+            WHERE\s""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Brings the index in line with {@code cards} and {@code groups}. Both sides are read once; writes are
+     * limited to added, changed and removed cards, so a one-card edit does not rewrite the whole index.
+     * Returns the number of rows written.
+     */
+    public int sync() {
+        Map<String, IndexedRow> indexed = new HashMap<>();
+        List<Long> deletes = new ArrayList<>();
+        jdbcTemplate.query(INDEXED_SQL, rs -> {
+            IndexedRow row = new IndexedRow(rs.getLong(1), new Document(
+                    rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6)));
+            IndexedRow duplicate = indexed.put(row.document().cardId(), row);
+            if (duplicate != null) {
+                deletes.add(duplicate.rowid());
+            }
+        });
+        List<Document> inserts = new ArrayList<>();
+        List<IndexedRow> updates = new ArrayList<>();
+        jdbcTemplate.query(DOCUMENTS_SQL, rs -> {
+            Document document = new Document(
+                    rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+            IndexedRow current = indexed.remove(document.cardId());
+            if (current == null) {
+                inserts.add(document);
+            } else if (!current.document().equals(document)) {
+                updates.add(new IndexedRow(current.rowid(), document));
+            }
+        });
+        indexed.values().forEach(row -> deletes.add(row.rowid()));
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes, deletes.size(), (ps, rowid) -> ps.setLong(1, rowid));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, row) -> {
+                ps.setString(1, row.document().name());
+                ps.setString(2, row.document().description());
+                ps.setString(3, row.document().urls());
+                ps.setString(4, row.document().groupName());
+                ps.setLong(5, row.rowid());
+            });
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, document) -> {
+                ps.setString(1, document.cardId());
+                ps.setString(2, document.name());
+                ps.setString(3, document.description());
+                ps.setString(4, document.urls());
+                ps.setString(5, document.groupName());
+            });
+        }
+        return deletes.size() + updates.size() + inserts.size();
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_search", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Substring search over every indexed column. Terms of three or more characters go through the trigram
+     * index with bm25 ranking and highlights; shorter terms (type-ahead, single CJK characters) are matched
+     * with LIKE, which SQLite folds for ASCII only. All terms must match.
+     */
+    public List<Hit> search(String keyword, int limit) {
+        if (!StringUtils.hasText(keyword)) {
+            return List.of();
+        }
+        List<String> matchTerms = new ArrayList<>();
+        List<String> filters = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (String token : keyword.trim().split("\\s+")) {
+            String term = token.replace("\"", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.codePointCount(0, term.length()) >= MIN_MATCH_LENGTH) {
+                matchTerms.add("\"" + term + "\"");
+            } else {
+                String pattern = "%" + escapeLike(term) + "%";
+                filters.add(SHORT_TERM_FILTER);
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+            }
+        }
+        if (matchTerms.isEmpty() && filters.isEmpty()) {
+            return List.of();
+        }
+        String sql;
+        if (matchTerms.isEmpty()) {
+            sql = SCAN_SQL + String.join(" AND ", filters) + " ORDER BY name LIKE ? ESCAPE '\\' DESC, name LIMIT ?";
+            args.add(args.get(0));
+        } else {
+            // Quoted terms can never be interpreted as FTS5 operators or column filters.
+            sql = SEARCH_SQL + filters.stream().map(filter -> " AND " + filter).collect(Collectors.joining())
+                    + " ORDER BY score LIMIT ?";
+            args.add(0, String.join(" ", matchTerms));
+        }
+        args.add(limit);
+        return RequestTimings.time(RequestTimings.DB, () -> jdbcTemplate.query(sql, (rs, rowNum) -> new Hit(
+                rs.getString("card_id"),
+                rs.getDouble("score"),
+                rs.getString("name_highlight"),
+                rs.getString("description_highlight")
+        ), args.toArray()));
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == LIKE_ESCAPE || ch == '%' || ch == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(ch);
+        }
+        return escaped.toString();
+    }
+
+    public record Hit(String cardId, double score, String nameHighlight, String descriptionHighlight) {
+    }
+
+    private record Document(String cardId, String name, String description, String urls, String groupName) {
+    }
+
+    private record IndexedRow(long rowid, Document document) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.pw.nexusnav.repository;
+
+import com.pw.nexusnav.entity.CardEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+public final class CardSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CardSpecifications() {
+    }
+
+    public static Specification<CardEntity> inGroup(String groupId) {
+        return (root, query, cb) -> StringUtils.hasText(groupId)
+                ? cb.equal(root.get("group").get("id"), groupId)
+                : cb.conjunction();
+    }
+
+    public static Specification<CardEntity> enabledEquals(Boolean enabled) {
+        return (root, query, cb) -> enabled == null
+                ? cb.conjunction()
+                : cb.equal(root.get("enabled"), enabled);
+    }
+
+    /**
+     * Matches the keyword against name, description and the URL the client would be served,
+     * mirroring the preferred/fallback/base URL resolution done in {@code CardService}.
+     * <p>
+     * Name and description are matched case-insensitively across Unicode (Ä/ä, Cyrillic, ...) through the
+     * {@code search_*} columns folded in Java. URLs go through SQLite's {@code lower()}, which only folds ASCII;
+     * hosts are ASCII or punycode, so only non-ASCII paths are matched case-sensitively.
+     */
+    public static Specification<CardEntity> matchesKeyword(String keyword, boolean preferLan) {
+        return (root, query, cb) -> {
+            if (!StringUtils.hasText(keyword)) {
+                return cb.conjunction();
+            }
+            String pattern = "%" + escapeLike(CardEntity.foldForSearch(keyword)) + "%";
+            Expression<String> preferred = blankToNull(cb, root.get(preferLan ? "lanUrl" : "wanUrl"));
+            Expression<String> fallback = blankToNull(cb, root.get(preferLan ? "wanUrl" : "lanUrl"));
+            Expression<String> resolvedUrl = cb.coalesce(preferred, cb.coalesce(fallback, root.<String>get("url")));
+            return cb.or(
+                    cb.like(root.get("searchName"), pattern, LIKE_ESCAPE),
+                    cb.like(root.get("searchDescription"), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(resolvedUrl), pattern, LIKE_ESCAPE)
+            );
+        };
+    }
+
+    private static Expression<String> blankToNull(CriteriaBuilder cb, Expression<String> value) {
+        return cb.nullif(cb.trim(value), "");
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == LIKE_ESCAPE || ch == '%' || ch == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(ch);
+        }
+        return escaped.toString();
+    }
+}
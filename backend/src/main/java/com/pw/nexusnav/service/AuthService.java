@@ -1,52 +1,126 @@
 package com.pw.nexusnav.service;
 
+import com.pw.nexusnav.config.NexusNavProperties;
+import com.pw.nexusnav.repository.AuthSessionRepository;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
 
-import java.time.Instant;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class AuthService {
 
     public static final String SESSION_COOKIE = "NX_SESSION";
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     private static final int DEFAULT_TIMEOUT_MINUTES = 480;
+    private static final int MAX_CONFIG_VERIFY_TOKENS = 1000;
+    private static final long CONFIG_VERIFY_TTL_MILLIS = TimeUnit.SECONDS.toMillis(300);
+    private static final String KIND_SESSION = "session";
+    private static final String KIND_REVOKED = "revoked";
+    private static final String KIND_CONFIG_VERIFY = "config_verify";
     private static final BCryptPasswordEncoder BCRYPT = new BCryptPasswordEncoder();
 
     private final ConfigImportService configImportService;
-    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
-    private final Map<String, Long> configVerifyTokens = new ConcurrentHashMap<>();
+    private final SessionPersistence persistence;
+    // Keyed by SessionPersistence.hashToken, like the persisted rows, so neither holds a usable token.
+    // Signed mode: sessions are verified from the token itself, and this store only holds logged-out tokens.
+    // Revocations are never evicted for size, since dropping one would make a logged-out token valid again.
+    private final SessionStore sessions;
+    private final SessionTokenSigner signer;
+    private final String sessionKind;
+    private final SessionStore configVerifyTokens;
+    private final ScheduledExecutorService sweeper;
+    // BCrypt costs ~100 ms of CPU; a small pool with a short queue keeps login floods off the request threads.
+    private final ThreadPoolExecutor passwordHashExecutor;
+    // Security settings are read on every API request; refreshed when the system config changes.
+    private volatile SecuritySettings securitySettings;
 
-    public AuthService(ConfigImportService configImportService) {
+    public AuthService(
+            ConfigImportService configImportService,
+            SessionPersistence persistence,
+            NexusNavProperties properties
+    ) {
         this.configImportService = configImportService;
+        this.persistence = persistence;
+        NexusNavProperties.Session settings = properties.getSession();
+        this.signer = settings.isSignedTokens() ? createSigner(settings.getSigningKey()) : null;
+        this.sessions = signer != null
+                ? SessionStore.unbounded()
+                : new SessionStore(settings.getMaxSessions(), persistence::removed);
+        this.configVerifyTokens = new SessionStore(MAX_CONFIG_VERIFY_TOKENS, persistence::removed);
+        this.sessionKind = signer != null ? KIND_REVOKED : KIND_SESSION;
+        restore();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, settings.getSweepIntervalSeconds());
+        sweeper.scheduleWithFixedDelay(this::sweepExpired, interval, interval, TimeUnit.SECONDS);
+        this.passwordHashExecutor = createPasswordHashExecutor(properties.getLogin());
     }
 
-    public boolean validatePassword(String password) {
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+        passwordHashExecutor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemConfigSynced(SystemConfigSyncedEvent event) {
+        securitySettings = null;
+    }
+
+    /**
+     * Checks the password on the hash pool. The result completes on a {@code password-hash} thread, so the
+     * request thread is not held while the check waits in the queue or runs.
+     */
+    public CompletableFuture<Boolean> validatePassword(String password) {
         if (!StringUtils.hasText(password)) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         String configured = configImportService.getSystemConfig().getAdminPassword();
-        return StringUtils.hasText(configured) && BCRYPT.matches(password, configured);
+        if (!StringUtils.hasText(configured)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        // Throws RejectedExecutionException when the pool and its queue are full; answered with 503.
+        return CompletableFuture.supplyAsync(() -> BCRYPT.matches(password, configured), passwordHashExecutor);
     }
 
     public boolean isSecurityEnabled() {
-        return configImportService.getSystemConfig().getSecurity().isEnabled();
+        return securitySettings().enabled();
     }
 
     public int getSessionTimeoutMinutes() {
-        int configured = configImportService.getSystemConfig().getSecurity().getSessionTimeoutMinutes();
-        return configured > 0 ? configured : DEFAULT_TIMEOUT_MINUTES;
+        return securitySettings().sessionTimeoutMinutes();
     }
 
     public String createSession() {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.MINUTES.toMillis(getSessionTimeoutMinutes());
+        if (signer != null) {
+            return signer.issue(expiresAt);
+        }
         String token = UUID.randomUUID().toString();
-        sessions.put(token, Instant.now().plusSeconds((long) getSessionTimeoutMinutes() * 60).toEpochMilli());
+        String tokenHash = SessionPersistence.hashToken(token);
+        sessions.put(tokenHash, expiresAt, now);
+        persistence.saved(sessionKind, tokenHash, expiresAt);
         return token;
     }
 
@@ -54,21 +128,32 @@ public class AuthService {
         if (!isSecurityEnabled()) {
             return true;
         }
-        Long expireAt = sessions.get(token);
-        if (expireAt == null) {
+        if (token == null) {
             return false;
         }
-        if (expireAt < Instant.now().toEpochMilli()) {
-            sessions.remove(token);
-            return false;
+        long now = System.currentTimeMillis();
+        if (signer != null) {
+            return signer.verify(token) >= now && !sessions.touch(SessionPersistence.hashToken(token), now);
         }
-        return true;
+        return sessions.touch(SessionPersistence.hashToken(token), now);
     }
 
     public void clearSession(String token) {
-        if (token != null) {
-            sessions.remove(token);
+        if (token == null) {
+            return;
         }
+        String tokenHash = SessionPersistence.hashToken(token);
+        if (signer != null) {
+            long now = System.currentTimeMillis();
+            long expiresAt = signer.verify(token);
+            if (expiresAt >= now) {
+                sessions.put(tokenHash, expiresAt, now);
+                persistence.saved(sessionKind, tokenHash, expiresAt);
+            }
+            return;
+        }
+        sessions.remove(tokenHash);
+        persistence.removed(tokenHash);
     }
 
     public String extractSessionToken(HttpServletRequest request) {
@@ -104,7 +189,11 @@ public class AuthService {
 
     public String createConfigVerifyToken() {
         String token = UUID.randomUUID().toString();
-        configVerifyTokens.put(token, Instant.now().plusSeconds(300).toEpochMilli());
+        long now = System.currentTimeMillis();
+        long expiresAt = now + CONFIG_VERIFY_TTL_MILLIS;
+        String tokenHash = SessionPersistence.hashToken(token);
+        configVerifyTokens.put(tokenHash, expiresAt, now);
+        persistence.saved(KIND_CONFIG_VERIFY, tokenHash, expiresAt);
         return token;
     }
 
@@ -112,7 +201,91 @@ public class AuthService {
         if (token == null || token.isBlank()) {
             return false;
         }
-        Long expireAt = configVerifyTokens.remove(token);
-        return expireAt != null && expireAt >= Instant.now().toEpochMilli();
+        String tokenHash = SessionPersistence.hashToken(token);
+        boolean valid = configVerifyTokens.consume(tokenHash, System.currentTimeMillis());
+        if (valid) {
+            persistence.removed(tokenHash);
+        }
+        return valid;
+    }
+
+    private SecuritySettings securitySettings() {
+        SecuritySettings current = securitySettings;
+        if (current == null) {
+            ConfigModel.SecurityModel security = configImportService.getSystemConfig().getSecurity();
+            int timeout = security.getSessionTimeoutMinutes();
+            current = new SecuritySettings(security.isEnabled(), timeout > 0 ? timeout : DEFAULT_TIMEOUT_MINUTES);
+            securitySettings = current;
+        }
+        return current;
+    }
+
+    private ThreadPoolExecutor createPasswordHashExecutor(NexusNavProperties.Login settings) {
+        int threads = settings.getHashThreads() > 0
+                ? settings.getHashThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getHashQueue())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private void restore() {
+        long now = System.currentTimeMillis();
+        int restoredSessions = 0;
+        int restoredVerifyTokens = 0;
+        for (AuthSessionRepository.Row row : persistence.loadActive(now)) {
+            if (sessionKind.equals(row.kind())) {
+                sessions.put(row.tokenHash(), row.expiresAtMillis(), now);
+                restoredSessions++;
+            } else if (KIND_CONFIG_VERIFY.equals(row.kind())) {
+                configVerifyTokens.put(row.tokenHash(), row.expiresAtMillis(), now);
+                restoredVerifyTokens++;
+            }
+        }
+        if (restoredSessions > 0 || restoredVerifyTokens > 0) {
+            log.info("Sessions restored: kind={}, sessions={}, configVerifyTokens={}",
+                    sessionKind, restoredSessions, restoredVerifyTokens);
+        }
+    }
+
+    private SessionTokenSigner createSigner(String signingKey) {
+        if (!StringUtils.hasText(signingKey)) {
+            log.warn("Signed session tokens enabled without a signing key: using a random key, sessions will not "
+                    + "survive a restart or be accepted by other instances");
+            return SessionTokenSigner.withRandomKey();
+        }
+        byte[] keyBytes = signingKey.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < SessionTokenSigner.MIN_KEY_BYTES) {
+            throw new IllegalStateException("nexusnav.session.signing-key must be at least "
+                    + SessionTokenSigner.MIN_KEY_BYTES + " bytes");
+        }
+        return new SessionTokenSigner(keyBytes);
+    }
+
+    private void sweepExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            int expired = sessions.sweep(now) + configVerifyTokens.sweep(now);
+            persistence.purgeExpired(now);
+            if (expired > 0) {
+                log.debug("Expired sessions removed: count={}, remaining={}", expired, sessions.size());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Session sweep failed: error={}", ex.getMessage());
+        }
+    }
+
+    private record SecuritySettings(boolean enabled, int sessionTimeoutMinutes) {
     }
 }
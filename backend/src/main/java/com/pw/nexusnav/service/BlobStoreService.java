@@ -0,0 +1,133 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for binary assets referenced from the config files.
+ * <p>
+ * Blobs live at {@code <blob-path>/<first two hex chars>/<sha-256>} with a {@code .type} sidecar holding the
+ * content type. Because the hash is the name, a stored blob never changes and can be cached forever by clients.
+ */
+@Service
+public class BlobStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStoreService.class);
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String TYPE_SUFFIX = ".type";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+
+    public BlobStoreService(NexusNavProperties properties) {
+        this.root = Path.of(properties.getBlobPath()).toAbsolutePath().normalize();
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    public String put(byte[] content, String contentType) {
+        String hash = sha256Hex(content);
+        Path file = resolve(hash);
+        if (Files.exists(file)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            writeAtomically(file.resolveSibling(hash + TYPE_SUFFIX),
+                    (StringUtils.hasText(contentType) ? contentType.trim() : DEFAULT_CONTENT_TYPE).getBytes(StandardCharsets.UTF_8));
+            writeAtomically(file, content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write blob: " + hash, e);
+        }
+        log.info("Blob stored: hash={}, size={}, contentType={}", hash, content.length, contentType);
+        return hash;
+    }
+
+    /**
+     * Stores the payload of a {@code data:<type>;base64,<payload>} URL. Callers validate the URL first.
+     */
+    public String putDataUrl(String dataUrl) {
+        String normalized = dataUrl.trim();
+        int base64Index = normalized.indexOf(";base64,");
+        if (!normalized.startsWith("data:") || base64Index < 0) {
+            throw new IllegalArgumentException("Not a base64 data URL");
+        }
+        String contentType = normalized.substring("data:".length(), base64Index);
+        byte[] content = Base64.getDecoder().decode(normalized.substring(base64Index + ";base64,".length()));
+        return put(content, contentType);
+    }
+
+    public boolean exists(String hash) {
+        return isValidHash(hash) && Files.isRegularFile(resolve(hash));
+    }
+
+    public Optional<StoredBlob> find(String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path file = resolve(hash);
+        try {
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredBlob(hash, file, readContentType(file.resolveSibling(hash + TYPE_SUFFIX)), Files.size(file)));
+        } catch (IOException e) {
+            log.warn("Blob read failed: hash={}, error={}", hash, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private String readContentType(Path typeFile) throws IOException {
+        if (!Files.isRegularFile(typeFile)) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        String value = Files.readString(typeFile, StandardCharsets.UTF_8).trim();
+        return value.isEmpty() ? DEFAULT_CONTENT_TYPE : value;
+    }
+
+    private void writeAtomically(Path path, byte[] payload) throws IOException {
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, payload);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ignored) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    public record StoredBlob(String hash, Path path, String contentType, long size) {
+    }
+}
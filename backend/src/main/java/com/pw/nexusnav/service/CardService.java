@@ -1,301 +1,226 @@
 package com.pw.nexusnav.service;
 
-import com.pw.nexusnav.config.IpUtils;
+import com.pw.nexusnav.config.NetworkClassifier;
+import com.pw.nexusnav.config.RequestTimings;
+import com.pw.nexusnav.dto.BulkCardRequest;
+import com.pw.nexusnav.dto.BulkCardResultDTO;
 import com.pw.nexusnav.dto.CardDTO;
 import com.pw.nexusnav.dto.CardOrderItemDTO;
+import com.pw.nexusnav.dto.CardSearchHitDTO;
 import com.pw.nexusnav.dto.CreateCardRequest;
 import com.pw.nexusnav.dto.UpdateCardRequest;
 import com.pw.nexusnav.entity.CardEntity;
 import com.pw.nexusnav.repository.CardRepository;
+import com.pw.nexusnav.repository.CardSearchIndex;
+import com.pw.nexusnav.repository.CardSpecifications;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 public class CardService {
 
+    private static final Sort LISTING_SORT = Sort.by(Sort.Order.asc("orderIndex"), Sort.Order.asc("name"));
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final CardRepository cardRepository;
+    private final CardSearchIndex cardSearchIndex;
     private final ConfigMutationService configMutationService;
     private final ConfigImportService configImportService;
+    private final NetworkClassifier networkClassifier;
+    private final AtomicLong navGeneration = new AtomicLong();
+    private volatile CardProjections projections;
 
     public CardService(
             CardRepository cardRepository,
+            CardSearchIndex cardSearchIndex,
             ConfigMutationService configMutationService,
-            ConfigImportService configImportService
+            ConfigImportService configImportService,
+            NetworkClassifier networkClassifier
     ) {
         this.cardRepository = cardRepository;
+        this.cardSearchIndex = cardSearchIndex;
         this.configMutationService = configMutationService;
         this.configImportService = configImportService;
+        this.networkClassifier = networkClassifier;
     }
 
     public List<CardDTO> listCards(String groupId, String q, Boolean enabled, String clientIp) {
-        return cardRepository.findAllByOrderByOrderIndexAscNameAsc()
-                .stream()
-                .filter(card -> !StringUtils.hasText(groupId) || card.getGroup().getId().equals(groupId))
-                .filter(card -> enabled == null || card.isEnabled() == enabled)
-                .filter(card -> {
-                    if (!StringUtils.hasText(q)) {
-                        return true;
-                    }
-                    String keyword = q.toLowerCase(Locale.ROOT);
-                    return card.getName().toLowerCase(Locale.ROOT).contains(keyword)
-                            || (card.getDescription() != null && card.getDescription().toLowerCase(Locale.ROOT).contains(keyword))
-                            || resolveUrl(card, clientIp).toLowerCase(Locale.ROOT).contains(keyword);
-                })
-                .map(card -> toDto(card, clientIp))
-                .toList();
+        String networkMode = resolveEffectiveNetworkMode(clientIp);
+        if (!StringUtils.hasText(q)) {
+            List<CardDTO> cards = currentProjections().forMode(networkMode).cards();
+            if (!StringUtils.hasText(groupId) && enabled == null) {
+                return cards;
+            }
+            return cards.stream()
+                    .filter(card -> !StringUtils.hasText(groupId) || card.groupId().equals(groupId))
+                    .filter(card -> enabled == null || card.enabled() == enabled)
+                    .toList();
+        }
+        Specification<CardEntity> filter = CardSpecifications.inGroup(groupId)
+                .and(CardSpecifications.enabledEquals(enabled))
+                .and(CardSpecifications.matchesKeyword(q, ConfigModel.NETWORK_MODE_LAN.equals(networkMode)));
+        List<CardEntity> matches = cardRepository.findAll(filter, LISTING_SORT);
+        return RequestTimings.time(RequestTimings.MAPPING, () -> matches.stream()
+                .map(card -> toDto(card, networkMode))
+                .toList());
+    }
+
+    public List<CardSearchHitDTO> searchCards(String q, Integer limit, String clientIp) {
+        int effectiveLimit = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        List<CardSearchIndex.Hit> hits = cardSearchIndex.search(q, effectiveLimit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<String, CardDTO> cardsById = currentProjections().forMode(resolveEffectiveNetworkMode(clientIp)).byId();
+        List<CardSearchHitDTO> results = new ArrayList<>(hits.size());
+        for (CardSearchIndex.Hit hit : hits) {
+            CardDTO card = cardsById.get(hit.cardId());
+            if (card == null) {
+                continue;
+            }
+            results.add(new CardSearchHitDTO(
+                    card,
+                    toHighlightHtml(hit.nameHighlight()),
+                    toHighlightHtml(hit.descriptionHighlight()),
+                    -hit.score()
+            ));
+        }
+        return results;
     }
 
     public CardDTO getCard(String cardId, String clientIp) {
-        CardEntity card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalArgumentException("Card not found: " + cardId));
-        return toDto(card, clientIp);
+        CardDTO card = currentProjections().forMode(resolveEffectiveNetworkMode(clientIp)).byId().get(cardId);
+        if (card == null) {
+            throw new IllegalArgumentException("Card not found: " + cardId);
+        }
+        return card;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNavSynced(NavSyncedEvent event) {
+        navGeneration.incrementAndGet();
     }
 
     public CardDTO create(CreateCardRequest request, String clientIp) {
         final String[] createdId = new String[1];
-        configMutationService.mutateNav(nav -> {
-            List<ConfigModel.GroupItem> groups = new ArrayList<>(nav.getGroups());
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            nav.setGroups(groups);
-            nav.setCards(cards);
-
-            if (groups.stream().noneMatch(group -> group.getId().equals(request.getGroupId()))) {
-                throw new IllegalArgumentException("Group not found: " + request.getGroupId());
-            }
-            String cardId = StringUtils.hasText(request.getId()) ? request.getId().trim() : generateCardId(request.getName(), cards);
-            if (cards.stream().anyMatch(card -> card.getId().equals(cardId))) {
-                throw new IllegalArgumentException("Card already exists: " + cardId);
-            }
-            ConfigModel.CardItem item = new ConfigModel.CardItem();
-            item.setId(cardId);
-            item.setGroupId(request.getGroupId().trim());
-            item.setName(request.getName().trim());
-            String cardType = normalizeCardType(request.getCardType());
-            item.setCardType(cardType);
-            item.setLanUrl(emptyToNull(request.getLanUrl()));
-            item.setWanUrl(emptyToNull(request.getWanUrl()));
-            if (ConfigModel.CARD_TYPE_SSH.equals(cardType)) {
-                item.setSshHost(emptyToNull(request.getSshHost()));
-                item.setSshPort(normalizeSshPort(request.getSshPort()));
-                item.setSshUsername(emptyToNull(request.getSshUsername()));
-                item.setSshAuthMode(normalizeSshAuthMode(request.getSshAuthMode()));
-                item.setEmbyApiKey(null);
-                item.setQbittorrentUsername(null);
-                item.setQbittorrentPassword(null);
-                item.setTransmissionUsername(null);
-                item.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_EMBY.equals(cardType)) {
-                item.setSshHost(null);
-                item.setSshPort(null);
-                item.setSshUsername(null);
-                item.setSshAuthMode(null);
-                item.setEmbyApiKey(emptyToNull(request.getEmbyApiKey()));
-                item.setQbittorrentUsername(null);
-                item.setQbittorrentPassword(null);
-                item.setTransmissionUsername(null);
-                item.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_QBITTORRENT.equals(cardType)) {
-                item.setSshHost(null);
-                item.setSshPort(null);
-                item.setSshUsername(null);
-                item.setSshAuthMode(null);
-                item.setEmbyApiKey(null);
-                item.setQbittorrentUsername(emptyToNull(request.getQbittorrentUsername()));
-                item.setQbittorrentPassword(emptyToNull(request.getQbittorrentPassword()));
-                item.setTransmissionUsername(null);
-                item.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType)) {
-                item.setSshHost(null);
-                item.setSshPort(null);
-                item.setSshUsername(null);
-                item.setSshAuthMode(null);
-                item.setEmbyApiKey(null);
-                item.setQbittorrentUsername(null);
-                item.setQbittorrentPassword(null);
-                item.setTransmissionUsername(emptyToNull(request.getTransmissionUsername()));
-                item.setTransmissionPassword(emptyToNull(request.getTransmissionPassword()));
-            } else {
-                item.setSshHost(null);
-                item.setSshPort(null);
-                item.setSshUsername(null);
-                item.setSshAuthMode(null);
-                item.setEmbyApiKey(null);
-                item.setQbittorrentUsername(null);
-                item.setQbittorrentPassword(null);
-                item.setTransmissionUsername(null);
-                item.setTransmissionPassword(null);
-            }
-            item.setUrl(resolveCardUrl(
-                    cardType,
-                    request.getUrl(),
-                    item.getLanUrl(),
-                    item.getWanUrl(),
-                    item.getSshHost(),
-                    item.getSshPort()
-            ));
-            item.setOpenMode(normalizeOpenMode(request.getOpenMode()));
-            item.setIcon(emptyToNull(request.getIcon()));
-            item.setDescription(emptyToNull(request.getDescription()));
-            item.setOrderIndex(request.getOrderIndex());
-            item.setEnabled(request.isEnabled());
-            item.setHealthCheckEnabled(isHealthCheckSupported(cardType) && request.isHealthCheckEnabled());
-            ensureCardHasAddress(item);
-            cards.add(item);
-            createdId[0] = cardId;
-        });
+        configMutationService.mutateNav(nav -> createdId[0] = applyCreate(editable(nav), request));
 
         return cardRepository.findById(createdId[0])
-                .map(card -> toDto(card, clientIp))
+                .map(card -> toDto(card, resolveEffectiveNetworkMode(clientIp)))
                 .orElseThrow(() -> new IllegalStateException("Card not found after creation: " + createdId[0]));
     }
 
     public CardDTO update(String cardId, UpdateCardRequest request, String clientIp) {
-        configMutationService.mutateNav(nav -> {
-            List<ConfigModel.GroupItem> groups = new ArrayList<>(nav.getGroups());
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            nav.setGroups(groups);
-            nav.setCards(cards);
-
-            if (groups.stream().noneMatch(group -> group.getId().equals(request.getGroupId()))) {
-                throw new IllegalArgumentException("Group not found: " + request.getGroupId());
-            }
-            ConfigModel.CardItem target = cards.stream()
-                    .filter(card -> card.getId().equals(cardId))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Card not found: " + cardId));
-            target.setGroupId(request.getGroupId().trim());
-            target.setName(request.getName().trim());
-            String cardType = normalizeCardType(request.getCardType());
-            target.setCardType(cardType);
-            target.setLanUrl(emptyToNull(request.getLanUrl()));
-            target.setWanUrl(emptyToNull(request.getWanUrl()));
-            if (ConfigModel.CARD_TYPE_SSH.equals(cardType)) {
-                target.setSshHost(emptyToNull(request.getSshHost()));
-                target.setSshPort(normalizeSshPort(request.getSshPort()));
-                target.setSshUsername(emptyToNull(request.getSshUsername()));
-                target.setSshAuthMode(normalizeSshAuthMode(request.getSshAuthMode()));
-                target.setEmbyApiKey(null);
-                target.setQbittorrentUsername(null);
-                target.setQbittorrentPassword(null);
-                target.setTransmissionUsername(null);
-                target.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_EMBY.equals(cardType)) {
-                target.setSshHost(null);
-                target.setSshPort(null);
-                target.setSshUsername(null);
-                target.setSshAuthMode(null);
-                target.setEmbyApiKey(emptyToNull(request.getEmbyApiKey()));
-                target.setQbittorrentUsername(null);
-                target.setQbittorrentPassword(null);
-                target.setTransmissionUsername(null);
-                target.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_QBITTORRENT.equals(cardType)) {
-                target.setSshHost(null);
-                target.setSshPort(null);
-                target.setSshUsername(null);
-                target.setSshAuthMode(null);
-                target.setEmbyApiKey(null);
-                target.setQbittorrentUsername(emptyToNull(request.getQbittorrentUsername()));
-                target.setQbittorrentPassword(emptyToNull(request.getQbittorrentPassword()));
-                target.setTransmissionUsername(null);
-                target.setTransmissionPassword(null);
-            } else if (ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType)) {
-                target.setSshHost(null);
-                target.setSshPort(null);
-                target.setSshUsername(null);
-                target.setSshAuthMode(null);
-                target.setEmbyApiKey(null);
-                target.setQbittorrentUsername(null);
-                target.setQbittorrentPassword(null);
-                target.setTransmissionUsername(emptyToNull(request.getTransmissionUsername()));
-                target.setTransmissionPassword(emptyToNull(request.getTransmissionPassword()));
-            } else {
-                target.setSshHost(null);
-                target.setSshPort(null);
-                target.setSshUsername(null);
-                target.setSshAuthMode(null);
-                target.setEmbyApiKey(null);
-                target.setQbittorrentUsername(null);
-                target.setQbittorrentPassword(null);
-                target.setTransmissionUsername(null);
-                target.setTransmissionPassword(null);
-            }
-            target.setUrl(resolveCardUrl(
-                    cardType,
-                    request.getUrl(),
-                    target.getLanUrl(),
-                    target.getWanUrl(),
-                    target.getSshHost(),
-                    target.getSshPort()
-            ));
-            target.setOpenMode(normalizeOpenMode(request.getOpenMode()));
-            target.setIcon(emptyToNull(request.getIcon()));
-            target.setDescription(emptyToNull(request.getDescription()));
-            target.setOrderIndex(request.getOrderIndex());
-            target.setEnabled(request.isEnabled());
-            target.setHealthCheckEnabled(isHealthCheckSupported(cardType) && request.isHealthCheckEnabled());
-            ensureCardHasAddress(target);
-        });
+        configMutationService.mutateNav(nav -> applyUpdate(editable(nav), cardId, request));
 
         return cardRepository.findById(cardId)
-                .map(card -> toDto(card, clientIp))
+                .map(card -> toDto(card, resolveEffectiveNetworkMode(clientIp)))
                 .orElseThrow(() -> new IllegalStateException("Card not found after update: " + cardId));
     }
 
     public void delete(String cardId) {
+        configMutationService.mutateNav(nav -> applyDelete(editable(nav), cardId));
+    }
+
+    /**
+     * Applies all operations in order inside a single config mutation: one file write and one DB sync.
+     * Any failing operation rejects the whole batch and leaves the config untouched.
+     */
+    public List<BulkCardResultDTO> bulk(BulkCardRequest request, String clientIp) {
+        List<BulkCardRequest.Operation> operations = request.getOperations();
+        String[] cardIds = new String[operations.size()];
         configMutationService.mutateNav(nav -> {
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            boolean removed = cards.removeIf(card -> card.getId().equals(cardId));
-            if (!removed) {
-                throw new IllegalArgumentException("Card not found: " + cardId);
+            editable(nav);
+            for (int i = 0; i < operations.size(); i++) {
+                try {
+                    cardIds[i] = applyOperation(nav, operations.get(i));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("operations[" + i + "]: " + ex.getMessage(), ex);
+                }
             }
-            nav.setCards(cards);
         });
+
+        Map<String, CardDTO> cardsById = currentProjections().forMode(resolveEffectiveNetworkMode(clientIp)).byId();
+        List<BulkCardResultDTO> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            String op = operations.get(i).getOp();
+            CardDTO card = "delete".equals(op) ? null : cardsById.get(cardIds[i]);
+            results.add(new BulkCardResultDTO(i, op, cardIds[i], card));
+        }
+        return results;
     }
 
     public int updateOrder(List<CardOrderItemDTO> items) {
-        Set<String> ids = items.stream().map(CardOrderItemDTO::getId).collect(Collectors.toSet());
         Map<String, Integer> orderMap = items.stream()
                 .collect(Collectors.toMap(CardOrderItemDTO::getId, CardOrderItemDTO::getOrderIndex, (a, b) -> b));
         configMutationService.mutateNav(nav -> {
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            boolean anyMissing = ids.stream().anyMatch(id -> cards.stream().noneMatch(card -> card.getId().equals(id)));
-            if (anyMissing) {
+            if (orderMap.keySet().stream().anyMatch(id -> !nav.hasCard(id))) {
                 throw new IllegalArgumentException("Some cards do not exist");
             }
-            for (ConfigModel.CardItem card : cards) {
-                Integer order = orderMap.get(card.getId());
-                if (order != null) {
-                    card.setOrderIndex(order);
-                }
-            }
-            nav.setCards(cards);
+            orderMap.forEach((id, order) -> nav.findCard(id).setOrderIndex(order));
         });
         return items.size();
     }
 
     public List<CardEntity> listEnabledEntities() {
-        return cardRepository.findAllByOrderByOrderIndexAscNameAsc()
-                .stream()
-                .filter(CardEntity::isEnabled)
-                .toList();
+        return cardRepository.findAllByEnabledTrueOrderByOrderIndexAscNameAsc();
     }
 
-    private CardDTO toDto(CardEntity card, String clientIp) {
+    /**
+     * Returns the LAN/WAN projections for the current nav generation, rebuilding them after a sync.
+     * A build that races with a newer sync keeps its older generation and is replaced on the next call.
+     */
+    private CardProjections currentProjections() {
+        long generation = navGeneration.get();
+        CardProjections current = projections;
+        if (current != null && current.generation() == generation) {
+            return current;
+        }
+        List<CardEntity> cards = cardRepository.findAll(LISTING_SORT);
+        CardProjections rebuilt = RequestTimings.time(RequestTimings.MAPPING, () -> new CardProjections(
+                generation,
+                project(cards, ConfigModel.NETWORK_MODE_LAN),
+                project(cards, ConfigModel.NETWORK_MODE_WAN)
+        ));
+        projections = rebuilt;
+        return rebuilt;
+    }
+
+    private ModeProjection project(List<CardEntity> cards, String networkMode) {
+        List<CardDTO> dtos = new ArrayList<>(cards.size());
+        Map<String, CardDTO> byId = new HashMap<>();
+        for (CardEntity card : cards) {
+            CardDTO dto = toDto(card, networkMode);
+            dtos.add(dto);
+            byId.put(dto.id(), dto);
+        }
+        return new ModeProjection(List.copyOf(dtos), Map.copyOf(byId));
+    }
+
+    private CardDTO toDto(CardEntity card, String networkMode) {
         String cardType = normalizeCardType(card.getCardType());
         return new CardDTO(
                 card.getId(),
                 card.getGroup().getId(),
                 card.getName(),
-                resolveUrl(card, clientIp),
+                resolveUrl(card, networkMode),
                 emptyToNull(card.getLanUrl()),
                 emptyToNull(card.getWanUrl()),
                 normalizeOpenMode(card.getOpenMode()),
@@ -310,6 +235,7 @@ public class CardService {
                 ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType) ? emptyToNull(card.getTransmissionUsername()) : null,
                 ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType) ? emptyToNull(card.getTransmissionPassword()) : null,
                 card.getIcon(),
+                IconCacheService.isProxyable(card.getIcon()) ? IconCacheService.versionOf(card.getIcon()) : null,
                 card.getDescription(),
                 card.getOrderIndex(),
                 card.isEnabled(),
@@ -317,8 +243,7 @@ public class CardService {
         );
     }
 
-    private String resolveUrl(CardEntity card, String clientIp) {
-        String mode = resolveEffectiveNetworkMode(clientIp);
+    private String resolveUrl(CardEntity card, String mode) {
         String preferred = ConfigModel.NETWORK_MODE_LAN.equals(mode) ? card.getLanUrl() : card.getWanUrl();
         if (StringUtils.hasText(preferred)) {
             return preferred;
@@ -332,12 +257,249 @@ public class CardService {
         return card.getUrl();
     }
 
-    private String resolveEffectiveNetworkMode(String clientIp) {
+    public String resolveEffectiveNetworkMode(String clientIp) {
         String preference = configImportService.getSystemConfig().getNetworkModePreference();
         if (ConfigModel.NETWORK_MODE_LAN.equals(preference) || ConfigModel.NETWORK_MODE_WAN.equals(preference)) {
             return preference;
         }
-        return IpUtils.isLanIp(clientIp) ? ConfigModel.NETWORK_MODE_LAN : ConfigModel.NETWORK_MODE_WAN;
+        return networkClassifier.isLan(clientIp) ? ConfigModel.NETWORK_MODE_LAN : ConfigModel.NETWORK_MODE_WAN;
+    }
+
+    private String toHighlightHtml(String highlighted) {
+        if (!StringUtils.hasText(highlighted)) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(highlighted)
+                .replace(String.valueOf(CardSearchIndex.HIGHLIGHT_START), "<mark>")
+                .replace(String.valueOf(CardSearchIndex.HIGHLIGHT_END), "</mark>");
+    }
+
+    private ConfigModel.NavModel editable(ConfigModel.NavModel nav) {
+        nav.setGroups(new ArrayList<>(nav.getGroups()));
+        nav.setCards(new ArrayList<>(nav.getCards()));
+        return nav;
+    }
+
+    private String applyCreate(ConfigModel.NavModel nav, CreateCardRequest request) {
+        if (!nav.hasGroup(request.getGroupId())) {
+            throw new IllegalArgumentException("Group not found: " + request.getGroupId());
+        }
+        String cardId = StringUtils.hasText(request.getId()) ? request.getId().trim() : generateCardId(request.getName(), nav);
+        if (nav.hasCard(cardId)) {
+            throw new IllegalArgumentException("Card already exists: " + cardId);
+        }
+        ConfigModel.CardItem item = new ConfigModel.CardItem();
+        item.setId(cardId);
+        item.setGroupId(request.getGroupId().trim());
+        item.setName(request.getName().trim());
+        String cardType = normalizeCardType(request.getCardType());
+        item.setCardType(cardType);
+        item.setLanUrl(emptyToNull(request.getLanUrl()));
+        item.setWanUrl(emptyToNull(request.getWanUrl()));
+        if (ConfigModel.CARD_TYPE_SSH.equals(cardType)) {
+            item.setSshHost(emptyToNull(request.getSshHost()));
+            item.setSshPort(normalizeSshPort(request.getSshPort()));
+            item.setSshUsername(emptyToNull(request.getSshUsername()));
+            item.setSshAuthMode(normalizeSshAuthMode(request.getSshAuthMode()));
+            item.setEmbyApiKey(null);
+            item.setQbittorrentUsername(null);
+            item.setQbittorrentPassword(null);
+            item.setTransmissionUsername(null);
+            item.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_EMBY.equals(cardType)) {
+            item.setSshHost(null);
+            item.setSshPort(null);
+            item.setSshUsername(null);
+            item.setSshAuthMode(null);
+            item.setEmbyApiKey(emptyToNull(request.getEmbyApiKey()));
+            item.setQbittorrentUsername(null);
+            item.setQbittorrentPassword(null);
+            item.setTransmissionUsername(null);
+            item.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_QBITTORRENT.equals(cardType)) {
+            item.setSshHost(null);
+            item.setSshPort(null);
+            item.setSshUsername(null);
+            item.setSshAuthMode(null);
+            item.setEmbyApiKey(null);
+            item.setQbittorrentUsername(emptyToNull(request.getQbittorrentUsername()));
+            item.setQbittorrentPassword(emptyToNull(request.getQbittorrentPassword()));
+            item.setTransmissionUsername(null);
+            item.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType)) {
+            item.setSshHost(null);
+            item.setSshPort(null);
+            item.setSshUsername(null);
+            item.setSshAuthMode(null);
+            item.setEmbyApiKey(null);
+            item.setQbittorrentUsername(null);
+            item.setQbittorrentPassword(null);
+            item.setTransmissionUsername(emptyToNull(request.getTransmissionUsername()));
+            item.setTransmissionPassword(emptyToNull(request.getTransmissionPassword()));
+        } else {
+            item.setSshHost(null);
+            item.setSshPort(null);
+            item.setSshUsername(null);
+            item.setSshAuthMode(null);
+            item.setEmbyApiKey(null);
+            item.setQbittorrentUsername(null);
+            item.setQbittorrentPassword(null);
+            item.setTransmissionUsername(null);
+            item.setTransmissionPassword(null);
+        }
+        item.setUrl(resolveCardUrl(
+                cardType,
+                request.getUrl(),
+                item.getLanUrl(),
+                item.getWanUrl(),
+                item.getSshHost(),
+                item.getSshPort()
+        ));
+        item.setOpenMode(normalizeOpenMode(request.getOpenMode()));
+        item.setIcon(emptyToNull(request.getIcon()));
+        item.setDescription(emptyToNull(request.getDescription()));
+        item.setOrderIndex(request.getOrderIndex());
+        item.setEnabled(request.isEnabled());
+        item.setHealthCheckEnabled(isHealthCheckSupported(cardType) && request.isHealthCheckEnabled());
+        ensureCardHasAddress(item);
+        nav.addCard(item);
+        return cardId;
+    }
+
+    private void applyUpdate(ConfigModel.NavModel nav, String cardId, UpdateCardRequest request) {
+        if (!nav.hasGroup(request.getGroupId())) {
+            throw new IllegalArgumentException("Group not found: " + request.getGroupId());
+        }
+        ConfigModel.CardItem target = requireCard(nav, cardId);
+        nav.moveCard(target, request.getGroupId().trim());
+        target.setName(request.getName().trim());
+        String cardType = normalizeCardType(request.getCardType());
+        target.setCardType(cardType);
+        target.setLanUrl(emptyToNull(request.getLanUrl()));
+        target.setWanUrl(emptyToNull(request.getWanUrl()));
+        if (ConfigModel.CARD_TYPE_SSH.equals(cardType)) {
+            target.setSshHost(emptyToNull(request.getSshHost()));
+            target.setSshPort(normalizeSshPort(request.getSshPort()));
+            target.setSshUsername(emptyToNull(request.getSshUsername()));
+            target.setSshAuthMode(normalizeSshAuthMode(request.getSshAuthMode()));
+            target.setEmbyApiKey(null);
+            target.setQbittorrentUsername(null);
+            target.setQbittorrentPassword(null);
+            target.setTransmissionUsername(null);
+            target.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_EMBY.equals(cardType)) {
+            target.setSshHost(null);
+            target.setSshPort(null);
+            target.setSshUsername(null);
+            target.setSshAuthMode(null);
+            target.setEmbyApiKey(emptyToNull(request.getEmbyApiKey()));
+            target.setQbittorrentUsername(null);
+            target.setQbittorrentPassword(null);
+            target.setTransmissionUsername(null);
+            target.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_QBITTORRENT.equals(cardType)) {
+            target.setSshHost(null);
+            target.setSshPort(null);
+            target.setSshUsername(null);
+            target.setSshAuthMode(null);
+            target.setEmbyApiKey(null);
+            target.setQbittorrentUsername(emptyToNull(request.getQbittorrentUsername()));
+            target.setQbittorrentPassword(emptyToNull(request.getQbittorrentPassword()));
+            target.setTransmissionUsername(null);
+            target.setTransmissionPassword(null);
+        } else if (ConfigModel.CARD_TYPE_TRANSMISSION.equals(cardType)) {
+            target.setSshHost(null);
+            target.setSshPort(null);
+            target.setSshUsername(null);
+            target.setSshAuthMode(null);
+            target.setEmbyApiKey(null);
+            target.setQbittorrentUsername(null);
+            target.setQbittorrentPassword(null);
+            target.setTransmissionUsername(emptyToNull(request.getTransmissionUsername()));
+            target.setTransmissionPassword(emptyToNull(request.getTransmissionPassword()));
+        } else {
+            target.setSshHost(null);
+            target.setSshPort(null);
+            target.setSshUsername(null);
+            target.setSshAuthMode(null);
+            target.setEmbyApiKey(null);
+            target.setQbittorrentUsername(null);
+            target.setQbittorrentPassword(null);
+            target.setTransmissionUsername(null);
+            target.setTransmissionPassword(null);
+        }
+        target.setUrl(resolveCardUrl(
+                cardType,
+                request.getUrl(),
+                target.getLanUrl(),
+                target.getWanUrl(),
+                target.getSshHost(),
+                target.getSshPort()
+        ));
+        target.setOpenMode(normalizeOpenMode(request.getOpenMode()));
+        target.setIcon(emptyToNull(request.getIcon()));
+        target.setDescription(emptyToNull(request.getDescription()));
+        target.setOrderIndex(request.getOrderIndex());
+        target.setEnabled(request.isEnabled());
+        target.setHealthCheckEnabled(isHealthCheckSupported(cardType) && request.isHealthCheckEnabled());
+        ensureCardHasAddress(target);
+    }
+
+    private String applyOperation(ConfigModel.NavModel nav, BulkCardRequest.Operation operation) {
+        String op = operation.getOp();
+        if ("create".equals(op)) {
+            if (operation.getCreate() == null) {
+                throw new IllegalArgumentException("create payload is required");
+            }
+            return applyCreate(nav, operation.getCreate());
+        }
+        if (!StringUtils.hasText(operation.getCardId())) {
+            throw new IllegalArgumentException("cardId is required for " + op);
+        }
+        String cardId = operation.getCardId().trim();
+        switch (op) {
+            case "update" -> {
+                if (operation.getUpdate() == null) {
+                    throw new IllegalArgumentException("update payload is required");
+                }
+                applyUpdate(nav, cardId, operation.getUpdate());
+            }
+            case "delete" -> applyDelete(nav, cardId);
+            case "move" -> applyMove(nav, cardId, operation.getGroupId(), operation.getOrderIndex());
+            default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+        return cardId;
+    }
+
+    private void applyMove(ConfigModel.NavModel nav, String cardId, String groupId, Integer orderIndex) {
+        if (!StringUtils.hasText(groupId) && orderIndex == null) {
+            throw new IllegalArgumentException("move requires groupId or orderIndex");
+        }
+        ConfigModel.CardItem target = requireCard(nav, cardId);
+        if (StringUtils.hasText(groupId)) {
+            String normalizedGroupId = groupId.trim();
+            if (!nav.hasGroup(normalizedGroupId)) {
+                throw new IllegalArgumentException("Group not found: " + normalizedGroupId);
+            }
+            nav.moveCard(target, normalizedGroupId);
+        }
+        if (orderIndex != null) {
+            target.setOrderIndex(orderIndex);
+        }
+    }
+
+    private void applyDelete(ConfigModel.NavModel nav, String cardId) {
+        if (nav.removeCard(cardId) == null) {
+            throw new IllegalArgumentException("Card not found: " + cardId);
+        }
+    }
+
+    private ConfigModel.CardItem requireCard(ConfigModel.NavModel nav, String cardId) {
+        ConfigModel.CardItem card = nav.findCard(cardId);
+        if (card == null) {
+            throw new IllegalArgumentException("Card not found: " + cardId);
+        }
+        return card;
     }
 
     private void ensureCardHasAddress(ConfigModel.CardItem item) {
@@ -388,28 +550,19 @@ public class CardService {
         }
     }
 
-    private String generateCardId(String name, List<ConfigModel.CardItem> cards) {
+    private String generateCardId(String name, ConfigModel.NavModel nav) {
         String slug = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
         if (!StringUtils.hasText(slug)) {
             slug = "card";
         }
         String candidate = slug;
         int counter = 2;
-        while (containsCardId(cards, candidate)) {
+        while (nav.hasCard(candidate)) {
             candidate = slug + "-" + counter++;
         }
         return candidate + "-" + UUID.randomUUID().toString().substring(0, 6);
     }
 
-    private boolean containsCardId(List<ConfigModel.CardItem> cards, String cardId) {
-        for (ConfigModel.CardItem card : cards) {
-            if (card.getId().equals(cardId)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String normalizeOpenMode(String openMode) {
         if (!StringUtils.hasText(openMode)) {
             return "iframe";
@@ -494,4 +647,13 @@ public class CardService {
     private String emptyToNull(String value) {
         return StringUtils.hasText(value) ? value.trim() : null;
     }
+
+    private record ModeProjection(List<CardDTO> cards, Map<String, CardDTO> byId) {
+    }
+
+    private record CardProjections(long generation, ModeProjection lan, ModeProjection wan) {
+        private ModeProjection forMode(String networkMode) {
+            return ConfigModel.NETWORK_MODE_LAN.equals(networkMode) ? lan : wan;
+        }
+    }
 }
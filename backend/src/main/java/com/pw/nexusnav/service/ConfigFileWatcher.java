@@ -0,0 +1,198 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-imports nav.json and config.json when they are edited outside the app.
+ * <p>
+ * Bursts of file events are collapsed into one import after a short quiet period. A burst is skipped when
+ * every file it touched holds exactly what {@link ConfigMutationService} last wrote, so in-app edits do not import
+ * twice.
+ */
+@Component
+public class ConfigFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigFileWatcher.class);
+
+    private final ConfigImportService configImportService;
+    private final ConfigMutationService configMutationService;
+    private final NexusNavProperties.ConfigWatch settings;
+    private final Map<Path, Set<String>> watchedNames = new HashMap<>();
+    private final Set<Path> watchedFiles = new HashSet<>();
+    // Files touched since the last reload; guarded by this.
+    private final Set<Path> changedFiles = new HashSet<>();
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> pendingReload;
+    private WatchService watchService;
+
+    public ConfigFileWatcher(
+            ConfigImportService configImportService,
+            ConfigMutationService configMutationService,
+            NexusNavProperties properties
+    ) {
+        this.configImportService = configImportService;
+        this.configMutationService = configMutationService;
+        this.settings = properties.getConfigWatch();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        List<Path> files = List.of(
+                configImportService.resolveWritableNavPath().toAbsolutePath().normalize(),
+                configImportService.resolveWritableSystemPath().toAbsolutePath().normalize()
+        );
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path file : files) {
+                Path directory = file.getParent();
+                if (!watchedNames.containsKey(directory)) {
+                    directory.register(
+                            watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE
+                    );
+                }
+                watchedNames.computeIfAbsent(directory, key -> new HashSet<>()).add(file.getFileName().toString());
+                watchedFiles.add(file);
+            }
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.warn("Config file watching disabled: error={}", ex.getMessage());
+            closeWatchService();
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread watchThread = new Thread(this::watch, "config-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("Watching config files: files={}, debounceMillis={}", watchedFiles, settings.getDebounceMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        closeWatchService();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException ex) {
+                return;
+            }
+            Path directory = (Path) key.watchable();
+            Set<String> names = watchedNames.getOrDefault(directory, Set.of());
+            Set<Path> changed = new HashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                String name = event.kind() == StandardWatchEventKinds.OVERFLOW ? null : event.context().toString();
+                if (name != null && names.contains(name)) {
+                    changed.add(directory.resolve(name));
+                } else if (name == null || name.startsWith("..")) {
+                    // Events were lost, or a Kubernetes ConfigMap volume swapped its "..data" symlink instead of
+                    // touching the files: any watched file in this directory may have changed.
+                    names.forEach(watched -> changed.add(directory.resolve(watched)));
+                }
+            }
+            if (!changed.isEmpty()) {
+                scheduleReload(changed);
+            }
+            if (!key.reset()) {
+                log.warn("Config directory is no longer watched: directory={}", directory);
+            }
+        }
+    }
+
+    private synchronized void scheduleReload(Set<Path> changed) {
+        changedFiles.addAll(changed);
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = scheduler.schedule(this::reload, settings.getDebounceMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized Set<Path> takeChangedFiles() {
+        Set<Path> changed = Set.copyOf(changedFiles);
+        changedFiles.clear();
+        return changed;
+    }
+
+    private void reload() {
+        // Only the files that changed in this window matter: an in-app edit rewrites one file and leaves the
+        // other untouched, and that untouched file need not match anything we wrote.
+        Set<Path> changed = takeChangedFiles();
+        if (changed.stream().allMatch(this::isOwnWrite)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ConfigImportService.ImportResult result = configMutationService.importExternalChanges();
+            log.info("Config files reloaded: changed={}, message={}, elapsedMs={}",
+                    result.changed(), result.message(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception ex) {
+            // Usually a half-written or invalid file; the next save triggers another attempt.
+            log.warn("Config file reload failed: error={}", ex.getMessage());
+        }
+    }
+
+    private boolean isOwnWrite(Path file) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            return configMutationService.isOwnWrite(file, Files.readAllBytes(file));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException ex) {
+            log.debug("Config watch service close failed: error={}", ex.getMessage());
+        }
+    }
+}
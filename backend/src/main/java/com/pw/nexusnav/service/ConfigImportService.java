@@ -2,17 +2,24 @@ package com.pw.nexusnav.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pw.nexusnav.config.NexusNavProperties;
+import com.pw.nexusnav.config.RequestTimings;
 import com.pw.nexusnav.entity.AppMetaEntity;
 import com.pw.nexusnav.entity.CardEntity;
 import com.pw.nexusnav.entity.GroupEntity;
 import com.pw.nexusnav.repository.AppMetaRepository;
 import com.pw.nexusnav.repository.CardRepository;
+import com.pw.nexusnav.repository.CardSearchIndex;
 import com.pw.nexusnav.repository.GroupRepository;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
@@ -33,6 +40,8 @@ import java.util.stream.Stream;
 @Service
 public class ConfigImportService {
 
+    private static final Logger log = LoggerFactory.getLogger(ConfigImportService.class);
+
     public static final String NAV_HASH_KEY = "nav_hash";
     public static final String NAV_VERSION_KEY = "nav_version";
     public static final String SYSTEM_HASH_KEY = "system_hash";
@@ -46,6 +55,10 @@ public class ConfigImportService {
     private final GroupRepository groupRepository;
     private final CardRepository cardRepository;
     private final AppMetaRepository appMetaRepository;
+    private final CardSearchIndex cardSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlobStoreService blobStoreService;
+    private final TransactionTemplate transactionTemplate;
     private final NexusNavProperties properties;
 
     public ConfigImportService(
@@ -53,22 +66,49 @@ public class ConfigImportService {
             GroupRepository groupRepository,
             CardRepository cardRepository,
             AppMetaRepository appMetaRepository,
+            CardSearchIndex cardSearchIndex,
+            ApplicationEventPublisher eventPublisher,
+            BlobStoreService blobStoreService,
+            PlatformTransactionManager transactionManager,
             NexusNavProperties properties
     ) {
         this.objectMapper = objectMapper;
         this.groupRepository = groupRepository;
         this.cardRepository = cardRepository;
         this.appMetaRepository = appMetaRepository;
+        this.cardSearchIndex = cardSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.blobStoreService = blobStoreService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.properties = properties;
     }
 
+    /**
+     * Boot import. When the nav file hash matches the stored one and the DB still holds the same number of
+     * rows, the per-row prune sync is skipped because it would not change anything. Runs in one explicit
+     * transaction since {@code @Transactional} does not apply to a self-invoked init method.
+     */
     @PostConstruct
     public void init() {
-        importConfig(true);
+        transactionTemplate.executeWithoutResult(status -> doImport(true, true, true));
     }
 
     @Transactional
     public ImportResult importConfig(boolean prune) {
+        return doImport(prune, prune, false);
+    }
+
+    /**
+     * Applies edits made to the config files outside the app. The nav is only re-synced, with pruning,
+     * when its hash actually changed.
+     */
+    @Transactional
+    public ImportResult importChanges() {
+        return doImport(false, true, false);
+    }
+
+    private ImportResult doImport(boolean forceNavSync, boolean prune, boolean startup) {
+        long startNanos = System.nanoTime();
         byte[] navBytes = loadNavBytes();
         byte[] systemBytes = loadSystemBytes();
 
@@ -77,6 +117,7 @@ public class ConfigImportService {
 
         boolean navChanged = isHashChanged(NAV_HASH_KEY, navHash);
         boolean systemChanged = isHashChanged(SYSTEM_HASH_KEY, systemHash);
+        long readNanos = System.nanoTime();
 
         ConfigModel.NavModel navModel;
         ConfigModel.SystemModel systemModel;
@@ -88,28 +129,71 @@ public class ConfigImportService {
         }
 
         normalizeNavModel(navModel);
+        storeInlineBackground(systemModel);
         normalizeSystemModel(systemModel);
         validateNavModel(navModel);
         validateSystemModel(systemModel);
+        long parseNanos = System.nanoTime();
 
-        if (navChanged || prune) {
+        boolean bootUnchanged = startup && !navChanged && dbMatches(navModel);
+        boolean navSynced = navChanged || (forceNavSync && !bootUnchanged);
+        if (navSynced) {
             syncNav(navModel, prune);
             upsertMeta(NAV_HASH_KEY, navHash);
             upsertMeta(NAV_VERSION_KEY, navModel.getVersion() == null ? "" : navModel.getVersion());
+            eventPublisher.publishEvent(new NavSyncedEvent(navHash));
         }
 
         if (systemChanged) {
             upsertMeta(SYSTEM_HASH_KEY, systemHash);
             upsertMeta(SYSTEM_CONFIG_KEY, stringify(systemModel));
+            eventPublisher.publishEvent(new SystemConfigSyncedEvent(systemHash));
         } else if (appMetaRepository.findById(SYSTEM_CONFIG_KEY).isEmpty()) {
             upsertMeta(SYSTEM_CONFIG_KEY, stringify(systemModel));
+            eventPublisher.publishEvent(new SystemConfigSyncedEvent(systemHash));
+        }
+
+        long endNanos = System.nanoTime();
+
+        if (startup || log.isDebugEnabled()) {
+            String message = "Config import: startup={}, navChanged={}, systemChanged={}, navSynced={}, "
+                    + "readMs={}, parseMs={}, syncMs={}, totalMs={}";
+            Object[] args = {
+                    startup, navChanged, systemChanged, navSynced,
+                    toMillis(readNanos - startNanos),
+                    toMillis(parseNanos - readNanos),
+                    toMillis(endNanos - parseNanos),
+                    toMillis(endNanos - startNanos)
+            };
+            if (startup) {
+                log.info(message, args);
+            } else {
+                log.debug(message, args);
+            }
         }
 
         boolean changed = navChanged || systemChanged;
         return new ImportResult(changed, changed ? "Config imported" : "Config hash unchanged");
     }
 
+    private boolean dbMatches(ConfigModel.NavModel navModel) {
+        long cards = navModel.getCards().size();
+        return groupRepository.count() == navModel.getGroups().size()
+                && cardRepository.count() == cards
+                && cardSearchIndex.count() == cards
+                // Rows migrated from before V11 have no folded search columns until they are synced once.
+                && !cardRepository.existsBySearchNameIsNull();
+    }
+
+    private long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
     public ConfigModel.SystemModel getSystemConfig() {
+        return RequestTimings.time(RequestTimings.CONFIG, this::loadSystemConfig);
+    }
+
+    private ConfigModel.SystemModel loadSystemConfig() {
         ConfigModel.SystemModel model = appMetaRepository.findById(SYSTEM_CONFIG_KEY)
                 .map(AppMetaEntity::getValue)
                 .map(this::parseSystemConfig)
@@ -122,6 +206,22 @@ public class ConfigImportService {
         return model;
     }
 
+    /**
+     * Whether the system config file still carries an inline background image, so it should be rewritten once.
+     */
+    public boolean hasInlineBackgroundImage() {
+        try {
+            ConfigModel.SystemModel model = objectMapper.readValue(loadSystemBytes(), ConfigModel.SystemModel.class);
+            return StringUtils.hasText(model.getBackgroundImageDataUrl());
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid system config JSON", e);
+        }
+    }
+
+    public String getStoredHash(String key) {
+        return appMetaRepository.findById(key).map(AppMetaEntity::getValue).orElse("");
+    }
+
     public byte[] loadNavBytes() {
         String navPath = properties.getNavPath();
         if (StringUtils.hasText(navPath)) {
@@ -209,6 +309,7 @@ public class ConfigImportService {
     public ConfigModel.SystemModel parseSystem(byte[] payload) {
         try {
             ConfigModel.SystemModel model = objectMapper.readValue(payload, ConfigModel.SystemModel.class);
+            storeInlineBackground(model);
             normalizeSystemModel(model);
             validateSystemModel(model);
             return model;
@@ -330,6 +431,11 @@ public class ConfigImportService {
                     .filter(group -> !groupIds.contains(group.getId()))
                     .forEach(groupRepository::delete);
         }
+
+        // The FTS sync is plain SQL, so pending entity changes must reach the table first.
+        cardRepository.flush();
+        int indexed = cardSearchIndex.sync();
+        log.debug("Card search index synced: rowsWritten={}", indexed);
     }
 
     private void normalizeNavModel(ConfigModel.NavModel model) {
@@ -424,11 +530,13 @@ public class ConfigImportService {
         } else {
             model.setBackgroundType(model.getBackgroundType().trim().toLowerCase());
         }
-        if (!StringUtils.hasText(model.getBackgroundImageDataUrl())) {
-            model.setBackgroundImageDataUrl(null);
+        if (!StringUtils.hasText(model.getBackgroundImageHash())) {
+            model.setBackgroundImageHash(null);
         } else {
-            model.setBackgroundImageDataUrl(model.getBackgroundImageDataUrl().trim());
+            model.setBackgroundImageHash(model.getBackgroundImageHash().trim().toLowerCase());
         }
+        // Inline images are moved to the blob store on import; see storeInlineBackground.
+        model.setBackgroundImageDataUrl(null);
         if (model.getSecurity().getSessionTimeoutMinutes() <= 0) {
             model.getSecurity().setSessionTimeoutMinutes(480);
         }
@@ -541,7 +649,9 @@ public class ConfigImportService {
         if (!"gradient".equals(model.getBackgroundType()) && !"image".equals(model.getBackgroundType())) {
             throw new IllegalStateException("Invalid backgroundType");
         }
-        validateBackgroundDataUrl(model.getBackgroundImageDataUrl());
+        if (model.getBackgroundImageHash() != null && !BlobStoreService.isValidHash(model.getBackgroundImageHash())) {
+            throw new IllegalStateException("backgroundImageHash must be a sha-256 hex digest");
+        }
 
         Set<String> engineIds = new HashSet<>();
         for (ConfigModel.SearchEngineItem engine : model.getSearchEngines()) {
@@ -566,6 +676,19 @@ public class ConfigImportService {
         }
     }
 
+    /**
+     * Older configs inline the background image as a data URL. Import and mutation move it to the blob store and
+     * keep only its hash; the read path never decodes it.
+     */
+    private void storeInlineBackground(ConfigModel.SystemModel model) {
+        if (!StringUtils.hasText(model.getBackgroundImageDataUrl())) {
+            return;
+        }
+        validateBackgroundDataUrl(model.getBackgroundImageDataUrl());
+        model.setBackgroundImageHash(blobStoreService.putDataUrl(model.getBackgroundImageDataUrl()));
+        model.setBackgroundImageDataUrl(null);
+    }
+
     private void validateBackgroundDataUrl(String dataUrl) {
         if (!StringUtils.hasText(dataUrl)) {
             return;
@@ -1,7 +1,17 @@
 package com.pw.nexusnav.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ConfigModel {
 
@@ -20,6 +30,13 @@ public class ConfigModel {
         private String version;
         private List<GroupItem> groups = new ArrayList<>();
         private List<CardItem> cards = new ArrayList<>();
+        // Built on first lookup and dropped whenever a list is replaced; mutations below keep it current.
+        @JsonIgnore
+        private IdIndex index;
+        // Removed cards still in the list; dropped with one removeIf on the next list access, so removing k cards
+        // costs one pass over the list instead of k.
+        @JsonIgnore
+        private Set<CardItem> removedCards;
 
         public String getVersion() {
             return version;
@@ -35,14 +52,145 @@ public class ConfigModel {
 
         public void setGroups(List<GroupItem> groups) {
             this.groups = groups;
+            this.index = null;
         }
 
         public List<CardItem> getCards() {
+            compactCards();
             return cards;
         }
 
         public void setCards(List<CardItem> cards) {
             this.cards = cards;
+            this.index = null;
+            this.removedCards = null;
+        }
+
+        public GroupItem findGroup(String groupId) {
+            return index().groupsById.get(groupId);
+        }
+
+        public CardItem findCard(String cardId) {
+            return index().cardsById.get(cardId);
+        }
+
+        public boolean hasGroup(String groupId) {
+            return index().groupsById.containsKey(groupId);
+        }
+
+        public boolean hasCard(String cardId) {
+            return index().cardsById.containsKey(cardId);
+        }
+
+        public List<CardItem> cardsInGroup(String groupId) {
+            return List.copyOf(index().cardsByGroup.getOrDefault(groupId, Set.of()));
+        }
+
+        /**
+         * Both lists must be mutable; callers replace immutable lists via the setters first.
+         */
+        public void addGroup(GroupItem group) {
+            IdIndex current = index();
+            groups.add(group);
+            current.groupsById.putIfAbsent(group.getId(), group);
+        }
+
+        public void addCard(CardItem card) {
+            IdIndex current = index();
+            if (removedCards != null && removedCards.contains(card)) {
+                compactCards();
+            }
+            cards.add(card);
+            current.addCard(card);
+        }
+
+        public void moveCard(CardItem card, String groupId) {
+            IdIndex current = index();
+            current.removeFromGroup(card);
+            card.setGroupId(groupId);
+            current.cardsByGroup.computeIfAbsent(groupId, key -> new LinkedHashSet<>()).add(card);
+        }
+
+        public CardItem removeCard(String cardId) {
+            IdIndex current = index();
+            CardItem card = current.cardsById.remove(cardId);
+            if (card != null) {
+                markRemoved(Set.of(card));
+                current.removeFromGroup(card);
+            }
+            return card;
+        }
+
+        /**
+         * Removes the group together with its cards.
+         */
+        public GroupItem removeGroup(String groupId) {
+            IdIndex current = index();
+            GroupItem group = current.groupsById.remove(groupId);
+            if (group == null) {
+                return null;
+            }
+            groups.remove(group);
+            Set<CardItem> groupCards = current.cardsByGroup.remove(groupId);
+            if (groupCards != null && !groupCards.isEmpty()) {
+                markRemoved(groupCards);
+                for (CardItem card : groupCards) {
+                    current.cardsById.remove(card.getId(), card);
+                }
+            }
+            return group;
+        }
+
+        private void markRemoved(Collection<CardItem> removed) {
+            if (removedCards == null) {
+                removedCards = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            removedCards.addAll(removed);
+        }
+
+        private void compactCards() {
+            Set<CardItem> removed = removedCards;
+            if (removed != null) {
+                removedCards = null;
+                cards.removeIf(removed::contains);
+            }
+        }
+
+        private IdIndex index() {
+            IdIndex current = index;
+            if (current == null) {
+                current = new IdIndex(groups, getCards());
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    private static final class IdIndex {
+        private final Map<String, GroupItem> groupsById = new HashMap<>();
+        private final Map<String, CardItem> cardsById = new HashMap<>();
+        // CardItem keeps identity equality, so these sets remove a card in O(1) and keep list order.
+        private final Map<String, Set<CardItem>> cardsByGroup = new HashMap<>();
+
+        private IdIndex(List<GroupItem> groups, List<CardItem> cards) {
+            for (GroupItem group : groups) {
+                groupsById.putIfAbsent(group.getId(), group);
+            }
+            for (CardItem card : cards) {
+                addCard(card);
+            }
+        }
+
+        private void addCard(CardItem card) {
+            cardsById.putIfAbsent(card.getId(), card);
+            cardsByGroup.computeIfAbsent(card.getGroupId(), key -> new LinkedHashSet<>()).add(card);
+        }
+
+        private void removeFromGroup(CardItem card) {
+            Set<CardItem> siblings = cardsByGroup.get(card.getGroupId());
+            if (siblings != null) {
+                siblings.remove(card);
+            }
         }
     }
 
@@ -52,6 +200,9 @@ public class ConfigModel {
         private String networkModePreference = NETWORK_MODE_AUTO;
         private boolean dailySentenceEnabled = true;
         private String backgroundType = "gradient";
+        private String backgroundImageHash;
+        // Legacy inline image; migrated into the blob store on import and never written back.
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         private String backgroundImageDataUrl;
         private List<SearchEngineItem> searchEngines = new ArrayList<>();
         private SecurityModel security = new SecurityModel();
@@ -96,6 +247,14 @@ public class ConfigModel {
             this.backgroundType = backgroundType;
         }
 
+        public String getBackgroundImageHash() {
+            return backgroundImageHash;
+        }
+
+        public void setBackgroundImageHash(String backgroundImageHash) {
+            this.backgroundImageHash = backgroundImageHash;
+        }
+
         public String getBackgroundImageDataUrl() {
             return backgroundImageDataUrl;
         }
@@ -1,11 +1,19 @@
 package com.pw.nexusnav.service;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.concurrent.locks.ReentrantLock;
@@ -13,13 +21,38 @@ import java.util.concurrent.locks.ReentrantLock;
 @Service
 public class ConfigMutationService {
 
+    private static final Logger log = LoggerFactory.getLogger(ConfigMutationService.class);
+
     private final ConfigImportService configImportService;
     private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Path, byte[]> lastWrittenDigests = new ConcurrentHashMap<>();
 
     public ConfigMutationService(ConfigImportService configImportService) {
         this.configImportService = configImportService;
     }
 
+    /**
+     * Rewrites a config.json that still inlines the background image, so the image is decoded once on upgrade
+     * and both the file and the stored system config only carry its blob hash afterwards. A failed rewrite is
+     * logged and left for the next start.
+     */
+    @PostConstruct
+    public void migrateInlineBackground() {
+        Path systemPath = configImportService.resolveWritableSystemPath();
+        try {
+            if (!configImportService.hasInlineBackgroundImage()) {
+                return;
+            }
+            mutateSystem(system -> {
+            });
+        } catch (RuntimeException ex) {
+            // A read-only config.json or a failed blob write must not stop startup; the inline image keeps working.
+            log.warn("Inline background image migration skipped: path={}, error={}", systemPath, ex.getMessage());
+            return;
+        }
+        log.info("Inline background image moved to blob store: path={}", systemPath);
+    }
+
     public void mutateNav(Consumer<ConfigModel.NavModel> mutation) {
         mutate(mutation, null);
     }
@@ -42,6 +75,26 @@ public class ConfigMutationService {
         return holder.value;
     }
 
+    /**
+     * Imports edits made to the config files by someone else, serialized with in-app mutations.
+     */
+    public ConfigImportService.ImportResult importExternalChanges() {
+        lock.lock();
+        try {
+            return configImportService.importChanges();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the file currently holds exactly what this service last wrote to it.
+     */
+    public boolean isOwnWrite(Path path, byte[] content) {
+        byte[] expected = lastWrittenDigests.get(path.toAbsolutePath().normalize());
+        return expected != null && content != null && Arrays.equals(expected, digest(content));
+    }
+
     private void mutate(Consumer<ConfigModel.NavModel> navMutation, Consumer<ConfigModel.SystemModel> systemMutation) {
         lock.lock();
         try {
@@ -103,6 +156,7 @@ public class ConfigMutationService {
             Files.createDirectories(path.getParent());
             Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
             Files.write(temp, payload);
+            lastWrittenDigests.put(path.toAbsolutePath().normalize(), digest(payload));
             try {
                 Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
             } catch (IOException ignored) {
@@ -136,6 +190,14 @@ public class ConfigMutationService {
         }
     }
 
+    private byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
     private static class Holder<T> {
         private T value;
     }
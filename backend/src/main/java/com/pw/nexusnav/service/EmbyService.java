@@ -3,6 +3,7 @@ package com.pw.nexusnav.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.pw.nexusnav.dto.EmbyMediaBreakdownItemDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.config.NexusNavMetrics;
 import com.pw.nexusnav.dto.EmbyStatsDTO;
 import com.pw.nexusnav.dto.EmbyTaskDTO;
 import com.pw.nexusnav.dto.EmbyTaskRunResultDTO;
@@ -49,11 +50,13 @@ public class EmbyService {
 
     private final CardRepository cardRepository;
     private final ObjectMapper objectMapper;
+    private final NexusNavMetrics metrics;
     private final HttpClient httpClient;
 
-    public EmbyService(CardRepository cardRepository, ObjectMapper objectMapper) {
+    public EmbyService(CardRepository cardRepository, ObjectMapper objectMapper, NexusNavMetrics metrics) {
         this.cardRepository = cardRepository;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
         this.httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
     }
 
@@ -175,6 +178,7 @@ public class EmbyService {
             foldersResponse = sendJsonRequest(config, "GET", "/Items?IncludeItemTypes=CollectionFolder&Recursive=true&Limit=200");
         } catch (Exception ex) {
             log.warn("Emby library breakdown fetch failed: cardId={}, reason={}", config.cardId(), ex.getMessage());
+            metrics.upstreamFallback("emby", config.cardId(), "/Items");
             return List.of();
         }
 
@@ -326,15 +330,7 @@ public class EmbyService {
                 .method(method, HttpRequest.BodyPublishers.noBody())
                 .build();
 
-        HttpResponse<String> response;
-        try {
-            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Emby request interrupted");
-        } catch (IOException e) {
-            throw new IllegalStateException("Emby request failed: " + e.getMessage());
-        }
+        HttpResponse<String> response = metrics.timeUpstream("emby", config.cardId(), path, () -> send(request));
 
         int statusCode = response.statusCode();
         if (statusCode >= 200 && statusCode < 300) {
@@ -346,6 +342,17 @@ public class EmbyService {
         throw new IllegalStateException(reason);
     }
 
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Emby request interrupted");
+        } catch (IOException e) {
+            throw new IllegalStateException("Emby request failed: " + e.getMessage());
+        }
+    }
+
     private URI buildUri(String baseUrl, String path, String apiKey) {
         String normalizedPath = path.startsWith("/") ? path : "/" + path;
         String separator = normalizedPath.contains("?") ? "&" : "?";
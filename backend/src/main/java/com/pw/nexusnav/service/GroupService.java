@@ -37,24 +37,21 @@ public class GroupService {
         final String[] createdId = new String[1];
 
         configMutationService.mutateNav(nav -> {
-            List<ConfigModel.GroupItem> groups = new ArrayList<>(nav.getGroups());
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            nav.setGroups(groups);
-            nav.setCards(cards);
+            nav.setGroups(new ArrayList<>(nav.getGroups()));
 
             String groupId = targetId;
             if (!StringUtils.hasText(groupId)) {
-                groupId = generateGroupId(request.getName(), groups);
+                groupId = generateGroupId(request.getName(), nav);
             }
 
-            if (containsGroupId(groups, groupId)) {
+            if (nav.hasGroup(groupId)) {
                 throw new IllegalArgumentException("Group already exists: " + groupId);
             }
             ConfigModel.GroupItem item = new ConfigModel.GroupItem();
             item.setId(groupId);
             item.setName(request.getName().trim());
             item.setOrderIndex(request.getOrderIndex());
-            groups.add(item);
+            nav.addGroup(item);
             createdId[0] = groupId;
         });
 
@@ -66,12 +63,10 @@ public class GroupService {
 
     public GroupDTO update(String groupId, UpdateGroupRequest request) {
         configMutationService.mutateNav(nav -> {
-            List<ConfigModel.GroupItem> groups = new ArrayList<>(nav.getGroups());
-            nav.setGroups(groups);
-            ConfigModel.GroupItem target = groups.stream()
-                    .filter(group -> group.getId().equals(groupId))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Group not found: " + groupId));
+            ConfigModel.GroupItem target = nav.findGroup(groupId);
+            if (target == null) {
+                throw new IllegalArgumentException("Group not found: " + groupId);
+            }
             target.setName(request.getName().trim());
             target.setOrderIndex(request.getOrderIndex());
         });
@@ -83,37 +78,24 @@ public class GroupService {
 
     public void delete(String groupId) {
         configMutationService.mutateNav(nav -> {
-            List<ConfigModel.GroupItem> groups = new ArrayList<>(nav.getGroups());
-            List<ConfigModel.CardItem> cards = new ArrayList<>(nav.getCards());
-            boolean removed = groups.removeIf(group -> group.getId().equals(groupId));
-            if (!removed) {
+            nav.setGroups(new ArrayList<>(nav.getGroups()));
+            nav.setCards(new ArrayList<>(nav.getCards()));
+            if (nav.removeGroup(groupId) == null) {
                 throw new IllegalArgumentException("Group not found: " + groupId);
             }
-            cards.removeIf(card -> groupId.equals(card.getGroupId()));
-            nav.setGroups(groups);
-            nav.setCards(cards);
         });
     }
 
-    private String generateGroupId(String name, List<ConfigModel.GroupItem> groups) {
+    private String generateGroupId(String name, ConfigModel.NavModel nav) {
         String slug = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
         if (!StringUtils.hasText(slug)) {
             slug = "group";
         }
         String candidate = slug;
         int counter = 2;
-        while (containsGroupId(groups, candidate)) {
+        while (nav.hasGroup(candidate)) {
             candidate = slug + "-" + counter++;
         }
         return candidate;
     }
-
-    private boolean containsGroupId(List<ConfigModel.GroupItem> groups, String groupId) {
-        for (ConfigModel.GroupItem group : groups) {
-            if (group.getId().equals(groupId)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,479 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavMetrics;
+import com.pw.nexusnav.config.NexusNavProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Fetch-once cache for card icons that point at remote URLs or inline data URLs.
+ * <p>
+ * Lookups go memory LRU, then disk, then origin. Both tiers are bounded by bytes and evict the least recently
+ * used icons; disk recency survives restarts through the files' modification times. Raster icons larger than the
+ * configured size are downscaled to PNG before they are cached; formats ImageIO cannot decode (SVG, ICO) are kept
+ * as fetched, with the origin's content type normalized. Failed fetches are remembered for a while so a dead
+ * favicon host does not stall every dashboard load.
+ */
+@Service
+public class IconCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(IconCacheService.class);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(8);
+    private static final Duration FAILURE_TTL = Duration.ofMinutes(10);
+    private static final int MAX_ICON_BYTES = 1024 * 1024;
+    // A small compressed body can still declare a huge canvas; cap what we are willing to decode.
+    private static final long MAX_ICON_PIXELS = 4096L * 4096L;
+    private static final String TYPE_SUFFIX = ".type";
+    private static final String PNG = "image/png";
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private final Path root;
+    private final int targetSize;
+    private final long memoryMaxBytes;
+    private final long diskMaxBytes;
+    private final HttpClient httpClient;
+    private final NexusNavMetrics metrics;
+    private final LinkedHashMap<String, CachedIcon> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, CompletableFuture<Optional<CachedIcon>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedUntil = new ConcurrentHashMap<>();
+    private long memoryBytes;
+    // Access-ordered sizes of the icons on disk; loaded from the directory on first use.
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(64, 0.75f, true);
+    private boolean diskIndexed;
+    private long diskBytes;
+
+    public IconCacheService(NexusNavProperties properties, NexusNavMetrics metrics) {
+        NexusNavProperties.IconCache settings = properties.getIconCache();
+        this.root = Path.of(settings.getPath()).toAbsolutePath().normalize();
+        this.targetSize = settings.getSize();
+        this.memoryMaxBytes = settings.getMemoryMaxBytes();
+        this.diskMaxBytes = settings.getDiskMaxBytes();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.metrics = metrics;
+    }
+
+    public static boolean isProxyable(String icon) {
+        if (!StringUtils.hasText(icon)) {
+            return false;
+        }
+        String value = icon.trim();
+        return value.startsWith("http://") || value.startsWith("https://") || value.startsWith("data:image/");
+    }
+
+    /**
+     * Short content-independent version of an icon reference, used to make proxied icon URLs cacheable forever.
+     */
+    public static String versionOf(String icon) {
+        return sha256Hex(icon.trim()).substring(0, 16);
+    }
+
+    public Optional<CachedIcon> getIcon(String icon) {
+        if (!isProxyable(icon)) {
+            return Optional.empty();
+        }
+        String key = sha256Hex(icon.trim());
+        CachedIcon cached = fromMemory(key);
+        if (cached != null) {
+            metrics.cacheLookup("icon", "hit");
+            return Optional.of(cached);
+        }
+        Long retryAt = failedUntil.get(key);
+        if (retryAt != null && retryAt > System.currentTimeMillis()) {
+            metrics.cacheLookup("icon", "negative");
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<CachedIcon>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedIcon>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Optional<CachedIcon> loaded = load(key, icon.trim());
+            loaded.ifPresentOrElse(value -> {
+                failedUntil.remove(key);
+                toMemory(key, value);
+            }, () -> failedUntil.put(key, System.currentTimeMillis() + FAILURE_TTL.toMillis()));
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException ex) {
+            mine.complete(Optional.empty());
+            throw ex;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private Optional<CachedIcon> load(String key, String icon) {
+        CachedIcon onDisk = fromDisk(key, icon);
+        if (onDisk != null) {
+            metrics.cacheLookup("icon", "disk");
+            return Optional.of(onDisk);
+        }
+        metrics.cacheLookup("icon", "miss");
+        Fetched fetched;
+        try {
+            fetched = icon.startsWith("data:") ? decodeDataUrl(icon) : fetchRemote(icon);
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Icon fetch failed: icon={}, error={}", abbreviate(icon), ex.getMessage());
+            return Optional.empty();
+        }
+        if (fetched == null) {
+            return Optional.empty();
+        }
+        Fetched resized = downscale(fetched);
+        if (resized == null) {
+            log.warn("Icon is not a usable image: icon={}, contentType={}", abbreviate(icon), fetched.contentType());
+            return Optional.empty();
+        }
+        CachedIcon result = new CachedIcon(versionOf(icon), normalizeContentType(resized.contentType()), resized.body());
+        toDisk(key, result);
+        return Optional.of(result);
+    }
+
+    private Fetched fetchRemote(String icon) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(icon))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "image/*")
+                .header("User-Agent", "NexusNav")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            byte[] bytes = body.readNBytes(MAX_ICON_BYTES + 1);
+            if (bytes.length > MAX_ICON_BYTES) {
+                throw new IOException("icon exceeds " + MAX_ICON_BYTES + " bytes");
+            }
+            String contentType = response.headers().firstValue("Content-Type").map(this::stripParameters).orElse("");
+            return new Fetched(contentType, bytes);
+        }
+    }
+
+    private Fetched decodeDataUrl(String icon) {
+        int base64Index = icon.indexOf(";base64,");
+        if (base64Index < 0) {
+            return null;
+        }
+        byte[] bytes = Base64.getDecoder().decode(icon.substring(base64Index + ";base64,".length()));
+        return new Fetched(stripParameters(icon.substring("data:".length(), base64Index)), bytes);
+    }
+
+    private Fetched downscale(Fetched fetched) {
+        if (NativeDetector.inNativeImage()) {
+            // AWT is not reliably available in the native image; cache icons as fetched.
+            return fetched.contentType().startsWith("image/") ? fetched : null;
+        }
+        BufferedImage image;
+        try {
+            image = decode(fetched.body());
+        } catch (ImageTooLargeException ex) {
+            log.warn("Icon dimensions exceed limit: width={}, height={}", ex.width, ex.height);
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            image = null;
+        }
+        if (image == null) {
+            // Not decodable by ImageIO: only pass it through if the origin said it is an image.
+            return fetched.contentType().startsWith("image/") ? fetched : null;
+        }
+        int longest = Math.max(image.getWidth(), image.getHeight());
+        if (targetSize <= 0 || longest <= targetSize) {
+            return fetched.contentType().startsWith("image/") ? fetched : encodePng(image, fetched);
+        }
+        double scale = (double) targetSize / longest;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        Fetched encoded = encodePng(scaled, fetched);
+        return encoded.body().length < fetched.body().length || !fetched.contentType().startsWith("image/") ? encoded : fetched;
+    }
+
+    /**
+     * Decodes the first image in {@code body}, reading only the header first so an oversized canvas is rejected
+     * before any pixel buffer is allocated. Returns null when no ImageIO reader recognizes the format.
+     */
+    private static BufferedImage decode(byte[] body) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(body))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_ICON_PIXELS) {
+                    throw new ImageTooLargeException(width, height);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Fetched encodePng(BufferedImage image, Fetched fallback) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            if (ImageIO.write(image, "png", out)) {
+                return new Fetched(PNG, out.toByteArray());
+            }
+        } catch (IOException ex) {
+            log.warn("Icon encode failed: error={}", ex.getMessage());
+        }
+        return fallback;
+    }
+
+    private synchronized CachedIcon fromMemory(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void toMemory(String key, CachedIcon icon) {
+        if (icon.body().length > memoryMaxBytes) {
+            return;
+        }
+        CachedIcon previous = memory.put(key, icon);
+        if (previous != null) {
+            memoryBytes -= previous.body().length;
+        }
+        memoryBytes += icon.body().length;
+        Iterator<CachedIcon> eldest = memory.values().iterator();
+        while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().body().length;
+            eldest.remove();
+        }
+    }
+
+    private CachedIcon fromDisk(String key, String icon) {
+        Path file = root.resolve(key);
+        Path typeFile = root.resolve(key + TYPE_SUFFIX);
+        if (!Files.isRegularFile(file) || !Files.isRegularFile(typeFile)) {
+            return null;
+        }
+        try {
+            // Entries written before content types were normalized may hold anything the origin sent.
+            String contentType = normalizeContentType(Files.readString(typeFile, StandardCharsets.UTF_8));
+            CachedIcon cached = new CachedIcon(versionOf(icon), contentType, Files.readAllBytes(file));
+            touch(file);
+            diskAccessed(key, cached.body().length);
+            return cached;
+        } catch (IOException ex) {
+            log.warn("Icon cache read failed: file={}, error={}", file, ex.getMessage());
+            return null;
+        }
+    }
+
+    // The modification time doubles as the last use, so the LRU order is rebuilt after a restart.
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            log.debug("Icon cache touch failed: file={}, error={}", file, ex.getMessage());
+        }
+    }
+
+    private void toDisk(String key, CachedIcon icon) {
+        try {
+            Files.createDirectories(root);
+            writeAtomically(root.resolve(key + TYPE_SUFFIX), icon.contentType().getBytes(StandardCharsets.UTF_8));
+            writeAtomically(root.resolve(key), icon.body());
+            diskAccessed(key, icon.body().length);
+        } catch (IOException ex) {
+            log.warn("Icon cache write failed: key={}, error={}", key, ex.getMessage());
+        }
+    }
+
+    private void diskAccessed(String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            if (!diskIndexed) {
+                indexDisk();
+            }
+            Long previous = disk.put(key, size);
+            diskBytes += size - (previous == null ? 0 : previous);
+            Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+            while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                diskBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (String evictedKey : evicted) {
+            try {
+                Files.deleteIfExists(root.resolve(evictedKey));
+                Files.deleteIfExists(root.resolve(evictedKey + TYPE_SUFFIX));
+            } catch (IOException ex) {
+                log.warn("Icon cache eviction failed: key={}, error={}", evictedKey, ex.getMessage());
+            }
+        }
+        if (!evicted.isEmpty()) {
+            log.debug("Icon cache evicted from disk: count={}, bytes={}", evicted.size(), diskBytes);
+        }
+    }
+
+    // Caller holds the disk lock.
+    private void indexDisk() {
+        diskIndexed = true;
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            files = listing.filter(path -> Files.isRegularFile(path) && !path.getFileName().toString().contains("."))
+                    .toList();
+        } catch (IOException ex) {
+            log.warn("Icon cache scan failed: path={}, error={}", root, ex.getMessage());
+            return;
+        }
+        List<DiskEntry> entries = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                entries.add(new DiskEntry(file.getFileName().toString(), Files.size(file),
+                        Files.getLastModifiedTime(file).toMillis()));
+            } catch (IOException ignored) {
+                // Removed concurrently; nothing to account for.
+            }
+        }
+        entries.sort(Comparator.comparingLong(DiskEntry::lastUsedMillis));
+        for (DiskEntry entry : entries) {
+            disk.put(entry.key(), entry.size());
+            diskBytes += entry.size();
+        }
+    }
+
+    /**
+     * Reduces an origin-supplied content type to {@code type/subtype}, or {@code application/octet-stream} when it
+     * cannot be parsed, so serving the icon never fails on a malformed header.
+     */
+    static String normalizeContentType(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return OCTET_STREAM;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType.trim());
+            if (!type.isWildcardType() && !type.isWildcardSubtype()) {
+                return (type.getType() + "/" + type.getSubtype()).toLowerCase(Locale.ROOT);
+            }
+        } catch (InvalidMediaTypeException ignored) {
+            // Fall through to the generic type.
+        }
+        return OCTET_STREAM;
+    }
+
+    private void writeAtomically(Path path, byte[] payload) throws IOException {
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, payload);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ignored) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String stripParameters(String contentType) {
+        int separator = contentType.indexOf(';');
+        return (separator < 0 ? contentType : contentType.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String abbreviate(String icon) {
+        return icon.length() > 120 ? icon.substring(0, 120) + "..." : icon;
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    private record Fetched(String contentType, byte[] body) {
+    }
+
+    private record DiskEntry(String key, long size, long lastUsedMillis) {
+    }
+
+    private static final class ImageTooLargeException extends IOException {
+        private final int width;
+        private final int height;
+
+        ImageTooLargeException(int width, int height) {
+            super("image too large: " + width + "x" + height);
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public record CachedIcon(String version, String contentType, byte[] body) {
+    }
+}
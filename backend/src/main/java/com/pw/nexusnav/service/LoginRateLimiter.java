@@ -0,0 +1,130 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets for password checks. Each client may try {@code burst} passwords at once and then
+ * {@code attempts-per-minute} more per minute, so a brute-force loop cannot keep the BCrypt threads busy.
+ * Full buckets carry no state: a background sweep drops them every minute, and a flood of new clients between
+ * sweeps triggers an extra prune once the number of tracked clients grows past a bound.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    private final boolean enabled;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+    private volatile long lastPruneNanos = System.nanoTime();
+
+    public LoginRateLimiter(NexusNavProperties properties) {
+        NexusNavProperties.Login settings = properties.getLogin();
+        this.enabled = settings.getAttemptsPerMinute() > 0;
+        this.capacity = Math.max(1, settings.getBurst());
+        this.tokensPerNano = settings.getAttemptsPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-rate-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            sweeper.scheduleWithFixedDelay(this::sweepIdle, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Takes one attempt from the client's bucket. Returns 0 when allowed, otherwise the seconds until the next
+     * attempt is available, for a {@code Retry-After} header.
+     */
+    public long tryAcquire(String clientIp) {
+        return tryAcquire(clientIp, System.nanoTime());
+    }
+
+    long tryAcquire(String clientIp, long now) {
+        if (!enabled) {
+            return 0;
+        }
+        if (buckets.size() > MAX_TRACKED_CLIENTS && now - lastPruneNanos >= PRUNE_INTERVAL_NANOS) {
+            sweep(now);
+        }
+        String key = clientIp == null ? "unknown" : clientIp;
+        return buckets.computeIfAbsent(key, ignored -> new Bucket(capacity, now)).tryAcquire(now);
+    }
+
+    /**
+     * Drops the buckets that have refilled completely; returns how many were removed.
+     */
+    int sweep(long now) {
+        lastPruneNanos = now;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - buckets.size();
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private void sweepIdle() {
+        try {
+            int removed = sweep(System.nanoTime());
+            if (removed > 0) {
+                log.debug("Idle login buckets removed: count={}, remaining={}", removed, buckets.size());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Login bucket sweep failed: error={}", ex.getMessage());
+        }
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long refilledAtNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAtNanos = now;
+        }
+
+        private synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            double waitNanos = (1 - tokens) / tokensPerNano;
+            return Math.max(1, (long) Math.ceil(waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+            refilledAtNanos = now;
+        }
+    }
+}
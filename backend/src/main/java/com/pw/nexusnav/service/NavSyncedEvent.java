@@ -0,0 +1,7 @@
+package com.pw.nexusnav.service;
+
+/**
+ * Published by {@link ConfigImportService} after the nav model has been written to the database.
+ */
+public record NavSyncedEvent(String navHash) {
+}
@@ -2,6 +2,7 @@ package com.pw.nexusnav.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.config.NexusNavMetrics;
 import com.pw.nexusnav.dto.TorrentStatsDTO;
 import com.pw.nexusnav.dto.TorrentStatusBreakdownDTO;
 import com.pw.nexusnav.entity.CardEntity;
@@ -30,10 +31,12 @@ public class QbittorrentService {
 
     private final CardRepository cardRepository;
     private final ObjectMapper objectMapper;
+    private final NexusNavMetrics metrics;
 
-    public QbittorrentService(CardRepository cardRepository, ObjectMapper objectMapper) {
+    public QbittorrentService(CardRepository cardRepository, ObjectMapper objectMapper, NexusNavMetrics metrics) {
         this.cardRepository = cardRepository;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
     public TorrentStatsDTO fetchStats(String cardId) {
@@ -140,6 +143,10 @@ public class QbittorrentService {
                 StringUtils.hasText(body) ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody()
         ).build();
 
+        return metrics.timeUpstream("qbittorrent", config.cardId(), normalizedPath, () -> send(client, request));
+    }
+
+    private HttpResponse<String> send(HttpClient client, HttpRequest request) {
         try {
             return client.send(request, HttpResponse.BodyHandlers.ofString());
         } catch (InterruptedException e) {
@@ -244,7 +251,7 @@ public class QbittorrentService {
             throw new IllegalArgumentException("qBittorrent password is required: " + cardId);
         }
 
-        return new QbittorrentCardConfig(stripTrailingSlash(baseUrl), username, password);
+        return new QbittorrentCardConfig(cardId, stripTrailingSlash(baseUrl), username, password);
     }
 
     private String firstNonBlank(String... values) {
@@ -271,6 +278,6 @@ public class QbittorrentService {
         return current;
     }
 
-    private record QbittorrentCardConfig(String baseUrl, String username, String password) {
+    private record QbittorrentCardConfig(String cardId, String baseUrl, String username, String password) {
     }
 }
@@ -0,0 +1,158 @@
+package com.pw.nexusnav.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.config.NexusNavMetrics;
+import com.pw.nexusnav.config.RequestTimings;
+import com.pw.nexusnav.dto.ApiResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the serialized {@link ApiResponse} bytes of read-mostly endpoints, keyed by endpoint and network mode.
+ * Entries are versioned by the nav/system hashes stored in {@code app_meta}, which also seed the ETag. The ETag is
+ * weak because the body is served as-is or gzipped by the container, and Tomcat only compresses responses whose
+ * ETag is absent or weak.
+ */
+@Service
+public class ResponseCacheService {
+
+    public static final String CARDS = "cards";
+    public static final String GROUPS = "groups";
+    public static final String SYSTEM_CONFIG = "system-config";
+
+    private final ObjectMapper objectMapper;
+    private final ConfigImportService configImportService;
+    private final NexusNavMetrics metrics;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private volatile String navHash;
+    private volatile String systemHash;
+
+    public ResponseCacheService(ObjectMapper objectMapper, ConfigImportService configImportService, NexusNavMetrics metrics) {
+        this.objectMapper = objectMapper;
+        this.configImportService = configImportService;
+        this.metrics = metrics;
+    }
+
+    public CachedResponse getNavScoped(String endpoint, String variant, Supplier<?> dataSupplier) {
+        return get(endpoint, variant, currentNavHash(), dataSupplier);
+    }
+
+    public CachedResponse getSystemScoped(String endpoint, String variant, Supplier<?> dataSupplier) {
+        return get(endpoint, variant, currentSystemHash(), dataSupplier);
+    }
+
+    // Runs after CardService#onNavSynced so a new hash is never paired with a stale card projection.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNavSynced(NavSyncedEvent event) {
+        navHash = event.navHash();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemConfigSynced(SystemConfigSyncedEvent event) {
+        systemHash = event.systemHash();
+    }
+
+    private CachedResponse get(String endpoint, String variant, String version, Supplier<?> dataSupplier) {
+        String key = variant == null ? endpoint : endpoint + "|" + variant;
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.version().equals(version)) {
+            metrics.cacheLookup("response", "hit");
+            return cached;
+        }
+        metrics.cacheLookup("response", "miss");
+        Object data = dataSupplier.get();
+        byte[] body;
+        long serializationStart = RequestTimings.start();
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.ok(data));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize response: " + endpoint, e);
+        } finally {
+            RequestTimings.record(RequestTimings.SERIALIZATION, serializationStart);
+        }
+        CachedResponse created = new CachedResponse(version, buildEtag(key, version), body);
+        entries.put(key, created);
+        return created;
+    }
+
+    private String currentNavHash() {
+        String current = navHash;
+        if (current == null) {
+            current = configImportService.getStoredHash(ConfigImportService.NAV_HASH_KEY);
+            navHash = current;
+        }
+        return current;
+    }
+
+    private String currentSystemHash() {
+        String current = systemHash;
+        if (current == null) {
+            current = configImportService.getStoredHash(ConfigImportService.SYSTEM_HASH_KEY);
+            systemHash = current;
+        }
+        return current;
+    }
+
+    private String buildEtag(String key, String version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((key + "\n" + version).getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    public record CachedResponse(String version, String etag, byte[] body) {
+
+        public ResponseEntity<byte[]> toResponseEntity(String ifNoneMatch) {
+            if (matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
+        // If-None-Match uses the weak comparison: the W/ prefix is ignored on both sides.
+        private boolean matches(String ifNoneMatch) {
+            if (!StringUtils.hasText(ifNoneMatch)) {
+                return false;
+            }
+            String opaqueTag = etag.substring(2);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if ("*".equals(value) || opaqueTag.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
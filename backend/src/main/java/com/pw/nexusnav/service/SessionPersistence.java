@@ -0,0 +1,159 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import com.pw.nexusnav.repository.AuthSessionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for auth tokens. Changes are queued per token, so a token created and removed between
+ * two flushes costs nothing, and written in one transaction every {@code flush-interval-millis}. Expired rows are
+ * purged on the next flush after {@link #purgeExpired(long)}. A crash loses at most the last interval of logins
+ * and logouts; a clean shutdown flushes everything.
+ * <p>
+ * Tokens are bearer credentials, so they are never written: callers pass {@link #hashToken(String)}, which is
+ * also the key of the in-memory stores, so restored rows can be looked up without the original token.
+ */
+@Service
+public class SessionPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionPersistence.class);
+
+    private final AuthSessionRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Map<String, AuthSessionRepository.Row> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile long purgeBeforeMillis;
+
+    public SessionPersistence(
+            AuthSessionRepository repository,
+            PlatformTransactionManager transactionManager,
+            NexusNavProperties properties
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        NexusNavProperties.Session settings = properties.getSession();
+        this.enabled = settings.isPersistent();
+        if (!enabled) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(100, settings.getFlushIntervalMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public List<AuthSessionRepository.Row> loadActive(long nowMillis) {
+        if (!enabled) {
+            return List.of();
+        }
+        return repository.findActive(nowMillis);
+    }
+
+    /**
+     * Hex SHA-256 of a token. Tokens carry at least 122 random bits, so an unsalted hash cannot be reversed.
+     */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public void saved(String kind, String tokenHash, long expiresAtMillis) {
+        if (enabled) {
+            pending.put(tokenHash, new AuthSessionRepository.Row(tokenHash, kind, expiresAtMillis));
+        }
+    }
+
+    public void removed(String tokenHash) {
+        if (enabled) {
+            // A negative expiry marks a delete.
+            pending.put(tokenHash, new AuthSessionRepository.Row(tokenHash, null, -1));
+        }
+    }
+
+    public void purgeExpired(long nowMillis) {
+        purgeBeforeMillis = nowMillis;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    void flush() {
+        List<AuthSessionRepository.Row> batch = new ArrayList<>(pending.size());
+        for (String tokenHash : pending.keySet()) {
+            AuthSessionRepository.Row row = pending.remove(tokenHash);
+            if (row != null) {
+                batch.add(row);
+            }
+        }
+        long purgeBefore = purgeBeforeMillis;
+        if (batch.isEmpty() && purgeBefore == 0) {
+            return;
+        }
+        List<AuthSessionRepository.Row> upserts = new ArrayList<>(batch.size());
+        List<String> deletes = new ArrayList<>();
+        for (AuthSessionRepository.Row row : batch) {
+            if (row.expiresAtMillis() < 0) {
+                deletes.add(row.tokenHash());
+            } else {
+                upserts.add(row);
+            }
+        }
+        try {
+            Integer purged = transactionTemplate.execute(status -> {
+                repository.upsertAll(upserts);
+                repository.deleteAll(deletes);
+                return purgeBefore == 0 ? 0 : repository.deleteExpired(purgeBefore);
+            });
+            if (purgeBefore != 0) {
+                purgeBeforeMillis = 0;
+            }
+            log.debug("Sessions flushed: upserts={}, deletes={}, purged={}", upserts.size(), deletes.size(), purged);
+        } catch (RuntimeException ex) {
+            // Keep the batch for the next attempt unless the token changed again in the meantime.
+            for (AuthSessionRepository.Row row : batch) {
+                pending.putIfAbsent(row.tokenHash(), row);
+            }
+            throw ex;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Session flush failed: pending={}, error={}", pending.size(), ex.getMessage());
+        }
+    }
+}
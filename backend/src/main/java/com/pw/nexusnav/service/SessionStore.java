@@ -0,0 +1,117 @@
+package com.pw.nexusnav.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Token store with absolute expiry and an optional size cap.
+ * <p>
+ * Lookups are a single map read plus a volatile write of the access time. Expired tokens are dropped by
+ * {@link #sweep(long)}, which the owner runs periodically, so tokens that are never presented again do not
+ * accumulate. When the cap is exceeded the least recently used tokens are evicted, with some headroom so that
+ * the eviction scan does not run on every insert.
+ */
+class SessionStore {
+
+    private final int maxEntries;
+    private final Consumer<String> evictionListener;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    SessionStore(int maxEntries) {
+        this(maxEntries, token -> {
+        });
+    }
+
+    SessionStore(int maxEntries, Consumer<String> evictionListener) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * A store without a size cap, for entries that must stay until they expire. Its size is bounded only by what
+     * the owner puts in within one expiry period.
+     */
+    static SessionStore unbounded() {
+        return new SessionStore(Integer.MAX_VALUE);
+    }
+
+    void put(String token, long expiresAtMillis, long nowMillis) {
+        entries.put(token, new Entry(expiresAtMillis, nowMillis));
+        if (entries.size() > maxEntries) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    /**
+     * Returns whether the token is live, recording the access for LRU eviction.
+     */
+    boolean touch(String token, long nowMillis) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.expiresAtMillis < nowMillis) {
+            entries.remove(token, entry);
+            return false;
+        }
+        entry.lastAccessMillis = nowMillis;
+        return true;
+    }
+
+    /**
+     * Removes the token and returns whether it was live: for single-use tokens.
+     */
+    boolean consume(String token, long nowMillis) {
+        Entry entry = entries.remove(token);
+        return entry != null && entry.expiresAtMillis >= nowMillis;
+    }
+
+    void remove(String token) {
+        entries.remove(token);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int sweep(long nowMillis) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAtMillis < nowMillis);
+        return before - entries.size();
+    }
+
+    private synchronized void evictLeastRecentlyUsed() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        int target = excess + Math.max(1, maxEntries / 10);
+        // Copy the access times first: they keep changing under concurrent lookups and must be stable for the sort.
+        List<Candidate> candidates = new ArrayList<>(entries.size());
+        entries.forEach((token, entry) -> candidates.add(new Candidate(token, entry, entry.lastAccessMillis)));
+        candidates.sort(Comparator.comparingLong(Candidate::lastAccessMillis));
+        for (int i = 0; i < target && i < candidates.size(); i++) {
+            Candidate oldest = candidates.get(i);
+            if (entries.remove(oldest.token(), oldest.entry())) {
+                evictionListener.accept(oldest.token());
+            }
+        }
+    }
+
+    private record Candidate(String token, Entry entry, long lastAccessMillis) {
+    }
+
+    private static final class Entry {
+        private final long expiresAtMillis;
+        private volatile long lastAccessMillis;
+
+        private Entry(long expiresAtMillis, long lastAccessMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
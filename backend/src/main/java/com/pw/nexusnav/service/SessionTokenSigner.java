@@ -0,0 +1,93 @@
+package com.pw.nexusnav.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Self-contained session tokens of the form {@code <expiresAt>.<nonce>.<signature>}: the expiry in base 36
+ * milliseconds, a random nonce and an HMAC-SHA256 over both. Any instance holding the same key verifies a token
+ * without shared state; the signature comparison is constant time.
+ */
+final class SessionTokenSigner {
+
+    static final int MIN_KEY_BYTES = 32;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int NONCE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final SecureRandom random = new SecureRandom();
+
+    SessionTokenSigner(byte[] keyBytes) {
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("Session signing key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        newMac();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    static SessionTokenSigner withRandomKey() {
+        byte[] keyBytes = new byte[MIN_KEY_BYTES];
+        new SecureRandom().nextBytes(keyBytes);
+        return new SessionTokenSigner(keyBytes);
+    }
+
+    String issue(long expiresAtMillis) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        String payload = Long.toString(expiresAtMillis, 36) + "." + ENCODER.encodeToString(nonce);
+        byte[] bytes = payload.getBytes(StandardCharsets.US_ASCII);
+        return payload + "." + ENCODER.encodeToString(sign(bytes, bytes.length));
+    }
+
+    /**
+     * Returns the expiry carried by the token, or {@code -1} when it is malformed or not signed with this key.
+     * The caller compares the expiry with the current time.
+     */
+    long verify(String token) {
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        if (first <= 0 || last <= first) {
+            return -1;
+        }
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(last + 1));
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
+        byte[] expected = sign(token.getBytes(StandardCharsets.US_ASCII), last);
+        if (!MessageDigest.isEqual(expected, signature)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(token, 0, first, 36);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private byte[] sign(byte[] payload, int length) {
+        Mac mac = macs.get();
+        mac.update(payload, 0, length);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
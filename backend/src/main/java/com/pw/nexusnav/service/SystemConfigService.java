@@ -1,6 +1,6 @@
 package com.pw.nexusnav.service;
 
-import com.pw.nexusnav.config.IpUtils;
+import com.pw.nexusnav.config.NetworkClassifier;
 import com.pw.nexusnav.dto.AdminConfigDTO;
 import com.pw.nexusnav.dto.AdminConfigUpdateRequest;
 import com.pw.nexusnav.dto.SystemConfigDTO;
@@ -21,13 +21,19 @@ public class SystemConfigService {
 
     private final ConfigImportService configImportService;
     private final ConfigMutationService configMutationService;
+    private final BlobStoreService blobStoreService;
+    private final NetworkClassifier networkClassifier;
 
     public SystemConfigService(
             ConfigImportService configImportService,
-            ConfigMutationService configMutationService
+            ConfigMutationService configMutationService,
+            BlobStoreService blobStoreService,
+            NetworkClassifier networkClassifier
     ) {
         this.configImportService = configImportService;
         this.configMutationService = configMutationService;
+        this.blobStoreService = blobStoreService;
+        this.networkClassifier = networkClassifier;
     }
 
     public SystemConfigDTO getConfigForIp(String clientIp) {
@@ -52,10 +58,14 @@ public class SystemConfigService {
                 model.getSecurity().isRequireAuthForConfig(),
                 model.isDailySentenceEnabled(),
                 model.getBackgroundType(),
-                model.getBackgroundImageDataUrl()
+                model.getBackgroundImageHash()
         );
     }
 
+    public String resolveEffectiveNetworkMode(String clientIp) {
+        return resolveEffectiveMode(configImportService.getSystemConfig().getNetworkModePreference(), clientIp);
+    }
+
     public AdminConfigDTO getAdminConfig() {
         ConfigModel.SystemModel model = configImportService.getSystemConfig();
         AdminConfigDTO dto = new AdminConfigDTO();
@@ -63,7 +73,7 @@ public class SystemConfigService {
         dto.setDefaultSearchEngineId(model.getDefaultSearchEngineId());
         dto.setDailySentenceEnabled(model.isDailySentenceEnabled());
         dto.setBackgroundType(model.getBackgroundType());
-        dto.setBackgroundImageDataUrl(model.getBackgroundImageDataUrl());
+        dto.setBackgroundImageHash(model.getBackgroundImageHash());
         dto.setSearchEngines(model.getSearchEngines().stream().map(this::toSearchEngineDto).toList());
 
         AdminConfigDTO.SecurityDTO securityDTO = new AdminConfigDTO.SecurityDTO();
@@ -81,7 +91,7 @@ public class SystemConfigService {
             system.setDefaultSearchEngineId(request.getDefaultSearchEngineId().trim());
             system.setDailySentenceEnabled(request.getDailySentenceEnabled() == null || request.getDailySentenceEnabled());
             system.setBackgroundType(request.getBackgroundType().trim().toLowerCase(Locale.ROOT));
-            system.setBackgroundImageDataUrl(normalizeImageDataUrl(request.getBackgroundImageDataUrl()));
+            system.setBackgroundImageHash(resolveBackgroundImageHash(request));
             system.setSearchEngines(request.getSearchEngines().stream().map(this::toSearchEngineModel).toList());
 
             ConfigModel.SecurityModel security = system.getSecurity();
@@ -140,7 +150,7 @@ public class SystemConfigService {
         if (ConfigModel.NETWORK_MODE_LAN.equals(preference) || ConfigModel.NETWORK_MODE_WAN.equals(preference)) {
             return preference;
         }
-        return IpUtils.isLanIp(clientIp) ? ConfigModel.NETWORK_MODE_LAN : ConfigModel.NETWORK_MODE_WAN;
+        return networkClassifier.isLan(clientIp) ? ConfigModel.NETWORK_MODE_LAN : ConfigModel.NETWORK_MODE_WAN;
     }
 
     private void validateAdminConfigRequest(AdminConfigUpdateRequest request) {
@@ -161,6 +171,11 @@ public class SystemConfigService {
             throw new IllegalArgumentException("backgroundType must be gradient or image");
         }
         validateBackgroundDataUrl(request.getBackgroundImageDataUrl());
+        if (!StringUtils.hasText(request.getBackgroundImageDataUrl())
+                && StringUtils.hasText(request.getBackgroundImageHash())
+                && !blobStoreService.exists(request.getBackgroundImageHash().trim())) {
+            throw new IllegalArgumentException("backgroundImageHash not found");
+        }
         for (AdminConfigUpdateRequest.SearchEngineItemRequest item : request.getSearchEngines()) {
             String icon = normalizeSearchIcon(item.getIcon());
             if (icon != null && icon.length() > MAX_SEARCH_ICON_LENGTH) {
@@ -185,11 +200,14 @@ public class SystemConfigService {
         return value;
     }
 
-    private String normalizeImageDataUrl(String dataUrl) {
-        if (!StringUtils.hasText(dataUrl)) {
-            return null;
+    private String resolveBackgroundImageHash(AdminConfigUpdateRequest request) {
+        if (StringUtils.hasText(request.getBackgroundImageDataUrl())) {
+            return blobStoreService.putDataUrl(request.getBackgroundImageDataUrl());
+        }
+        if (StringUtils.hasText(request.getBackgroundImageHash())) {
+            return request.getBackgroundImageHash().trim();
         }
-        return dataUrl.trim();
+        return null;
     }
 
     private void validateBackgroundDataUrl(String dataUrl) {
@@ -0,0 +1,7 @@
+package com.pw.nexusnav.service;
+
+/**
+ * Published by {@link ConfigImportService} after the stored system config has been replaced.
+ */
+public record SystemConfigSyncedEvent(String systemHash) {
+}
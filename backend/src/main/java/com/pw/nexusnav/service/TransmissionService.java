@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pw.nexusnav.config.NexusNavMetrics;
 import com.pw.nexusnav.dto.TorrentStatsDTO;
 import com.pw.nexusnav.dto.TorrentStatusBreakdownDTO;
 import com.pw.nexusnav.entity.CardEntity;
@@ -31,11 +32,13 @@ public class TransmissionService {
 
     private final CardRepository cardRepository;
     private final ObjectMapper objectMapper;
+    private final NexusNavMetrics metrics;
     private final HttpClient httpClient;
 
-    public TransmissionService(CardRepository cardRepository, ObjectMapper objectMapper) {
+    public TransmissionService(CardRepository cardRepository, ObjectMapper objectMapper, NexusNavMetrics metrics) {
         this.cardRepository = cardRepository;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
         this.httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
     }
 
@@ -71,7 +74,8 @@ public class TransmissionService {
 
     private RpcFetchResult fetchWithEndpointFallback(TransmissionCardConfig config) {
         IllegalStateException lastError = null;
-        for (String endpoint : RPC_ENDPOINTS) {
+        for (int i = 0; i < RPC_ENDPOINTS.length; i++) {
+            String endpoint = RPC_ENDPOINTS[i];
             try {
                 String sessionId = null;
                 JsonNode sessionStats = sendRpcRequest(config, endpoint, "session-stats", null, sessionId);
@@ -83,6 +87,9 @@ public class TransmissionService {
                 JsonNode torrentList = sendRpcRequest(config, endpoint, "torrent-get", torrentGetArgs, sessionId);
                 return new RpcFetchResult(sessionStats, torrentList);
             } catch (IllegalStateException ex) {
+                if (i < RPC_ENDPOINTS.length - 1) {
+                    metrics.upstreamFallback("transmission", config.cardId(), endpoint);
+                }
                 lastError = ex;
             }
         }
@@ -98,6 +105,21 @@ public class TransmissionService {
             String method,
             ObjectNode arguments,
             String sessionId
+    ) {
+        return metrics.timeUpstream(
+                "transmission",
+                config.cardId(),
+                endpoint + "#" + method,
+                () -> doSendRpcRequest(config, endpoint, method, arguments, sessionId)
+        );
+    }
+
+    private JsonNode doSendRpcRequest(
+            TransmissionCardConfig config,
+            String endpoint,
+            String method,
+            ObjectNode arguments,
+            String sessionId
     ) {
         ObjectNode payload = objectMapper.createObjectNode();
         payload.put("method", method);
@@ -282,7 +304,7 @@ public class TransmissionService {
             throw new IllegalArgumentException("Transmission password is required: " + cardId);
         }
 
-        return new TransmissionCardConfig(stripTrailingSlash(baseUrl), username, password);
+        return new TransmissionCardConfig(cardId, stripTrailingSlash(baseUrl), username, password);
     }
 
     private String firstNonBlank(String... values) {
@@ -309,7 +331,7 @@ public class TransmissionService {
         return current;
     }
 
-    private record TransmissionCardConfig(String baseUrl, String username, String password) {
+    private record TransmissionCardConfig(String cardId, String baseUrl, String username, String password) {
     }
 
     private record RpcFetchResult(JsonNode sessionStats, JsonNode torrentList) {
@@ -0,0 +1,332 @@
+package com.pw.nexusnav.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.config.NexusNavProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records SSH terminal sessions as gzip-compressed asciicast v2 files.
+ * <p>
+ * Callers only enqueue events; a single background thread owns every file handle, so the SSH output pump never
+ * waits on disk I/O. Queued events are bounded by their estimated size ({@code max-pending-bytes}) rather than
+ * their count. Over budget, events are dropped and counted instead of applying back-pressure, and the writer
+ * records an asciicast marker where the gap is. A session's open and close events are always queued.
+ */
+@Component
+public class SshSessionRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SshSessionRecorder.class);
+    // Rough heap cost of an event apart from its string payload (event, boxing, queue node).
+    private static final int EVENT_OVERHEAD_BYTES = 64;
+    private static final long FLUSH_DELAY_MILLIS = 50;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectMapper objectMapper;
+    private final NexusNavProperties.SshRecording settings;
+    private final long maxPendingBytes;
+    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    // Only touched by the writer thread.
+    private final List<Recording> openRecordings = new ArrayList<>();
+    private boolean unflushed;
+    private Thread writerThread;
+
+    public SshSessionRecorder(ObjectMapper objectMapper, NexusNavProperties properties) {
+        this.objectMapper = objectMapper;
+        this.settings = properties.getSshRecording();
+        this.maxPendingBytes = Math.max(1, settings.getMaxPendingBytes());
+        if (settings.isEnabled()) {
+            writerThread = new Thread(this::drain, "ssh-recording-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            log.info("SSH session recording enabled: path={}, recordInput={}",
+                    Path.of(settings.getPath()).toAbsolutePath().normalize(), settings.isRecordInput());
+        }
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Starts a recording, or returns {@code null} when recording is disabled.
+     */
+    public Recording start(String webSocketSessionId, String cardId, String username, String host, int cols, int rows) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        String fileName = FILE_TIMESTAMP.format(LocalDateTime.now())
+                + "-" + sanitize(cardId)
+                + "-" + sanitize(webSocketSessionId)
+                + ".cast.gz";
+        Path file = Path.of(settings.getPath()).toAbsolutePath().normalize().resolve(fileName);
+        Recording recording = new Recording(file, settings.isRecordInput());
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("version", 2);
+        header.put("width", cols);
+        header.put("height", rows);
+        header.put("timestamp", System.currentTimeMillis() / 1000);
+        header.put("title", username + "@" + host + " (" + cardId + ")");
+        header.put("env", Map.of("TERM", "xterm-256color"));
+        // Open bypasses the budget like close: without it the file is never created and every later event is lost.
+        enqueueUnbounded(recording, new Event(EventKind.OPEN, 0d, header, 0));
+        return recording;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        // Queued after everything already pending, so those events are still written.
+        queue.offer(new Event(EventKind.STOP, 0d, null, 0));
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean enqueue(Recording recording, Event event) {
+        if (pendingBytes.addAndGet(event.bytes) > maxPendingBytes) {
+            pendingBytes.addAndGet(-event.bytes);
+            recording.dropped.incrementAndGet();
+            return false;
+        }
+        event.recording = recording;
+        event.droppedBefore = recording.dropped.get();
+        queue.offer(event);
+        return true;
+    }
+
+    private void enqueueUnbounded(Recording recording, Event event) {
+        event.recording = recording;
+        event.droppedBefore = recording.dropped.get();
+        queue.offer(event);
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                // Flush once the queue has been idle for a moment, then sleep until the next event.
+                Event event = unflushed ? queue.poll(FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS) : queue.take();
+                if (event == null) {
+                    flushOpenRecordings();
+                    continue;
+                }
+                if (event.kind == EventKind.STOP) {
+                    break;
+                }
+                pendingBytes.addAndGet(-event.bytes);
+                try {
+                    write(event);
+                } catch (Exception ex) {
+                    log.warn("SSH recording write failed: file={}, error={}", event.recording.file, ex.getMessage());
+                    closeQuietly(event.recording);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Recording recording : new ArrayList<>(openRecordings)) {
+            closeQuietly(recording);
+        }
+    }
+
+    private void write(Event event) throws IOException {
+        Recording recording = event.recording;
+        switch (event.kind) {
+            case OPEN -> {
+                Files.createDirectories(recording.file.getParent());
+                recording.out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(recording.file)), 8192);
+                openRecordings.add(recording);
+                writeLine(recording, event.payload);
+            }
+            case OUTPUT, INPUT, RESIZE -> {
+                if (recording.out == null) {
+                    return;
+                }
+                writeGapMarker(recording, event.elapsedSeconds, event.droppedBefore);
+                writeLine(recording, List.of(event.elapsedSeconds, event.kind.code, event.payload));
+            }
+            case CLOSE -> {
+                if (recording.out == null) {
+                    return;
+                }
+                writeGapMarker(recording, event.elapsedSeconds, event.droppedBefore);
+                closeQuietly(recording);
+                int dropped = recording.dropped.get();
+                if (dropped > 0) {
+                    log.warn("SSH recording closed with dropped events: file={}, dropped={}", recording.file, dropped);
+                } else {
+                    log.info("SSH recording saved: file={}", recording.file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks events dropped since the last written one with an asciicast {@code "m"} marker, so players show the gap.
+     */
+    private void writeGapMarker(Recording recording, double elapsedSeconds, int droppedBefore) throws IOException {
+        int gap = droppedBefore - recording.droppedWritten;
+        if (gap <= 0) {
+            return;
+        }
+        recording.droppedWritten = droppedBefore;
+        writeLine(recording, List.of(elapsedSeconds, "m", "recording gap: " + gap + " events dropped"));
+    }
+
+    private void writeLine(Recording recording, Object value) throws IOException {
+        recording.out.write(objectMapper.writeValueAsBytes(value));
+        recording.out.write('\n');
+        recording.dirty = true;
+        unflushed = true;
+    }
+
+    private void flushOpenRecordings() {
+        unflushed = false;
+        for (Recording recording : openRecordings) {
+            if (!recording.dirty || recording.out == null) {
+                continue;
+            }
+            try {
+                recording.out.flush();
+                recording.dirty = false;
+            } catch (IOException ex) {
+                log.warn("SSH recording flush failed: file={}, error={}", recording.file, ex.getMessage());
+            }
+        }
+    }
+
+    private void closeQuietly(Recording recording) {
+        openRecordings.remove(recording);
+        OutputStream out = recording.out;
+        recording.out = null;
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ex) {
+            log.warn("SSH recording close failed: file={}, error={}", recording.file, ex.getMessage());
+        }
+    }
+
+    private String sanitize(String value) {
+        if (value == null || value.isBlank()) {
+            return "unknown";
+        }
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private enum EventKind {
+        OPEN(null),
+        OUTPUT("o"),
+        INPUT("i"),
+        RESIZE("r"),
+        CLOSE(null),
+        STOP(null);
+
+        private final String code;
+
+        EventKind(String code) {
+            this.code = code;
+        }
+    }
+
+    private static final class Event {
+        private final EventKind kind;
+        private final double elapsedSeconds;
+        private final Object payload;
+        private final long bytes;
+        private Recording recording;
+        private int droppedBefore;
+
+        private Event(EventKind kind, double elapsedSeconds, Object payload, long bytes) {
+            this.kind = kind;
+            this.elapsedSeconds = elapsedSeconds;
+            this.payload = payload;
+            this.bytes = bytes;
+        }
+
+        private static Event of(EventKind kind, double elapsedSeconds, String payload) {
+            return new Event(kind, elapsedSeconds, payload, EVENT_OVERHEAD_BYTES + 2L * payload.length());
+        }
+    }
+
+    /**
+     * Handle for one recorded session. All methods are non-blocking and safe to call from any thread.
+     */
+    public final class Recording {
+        private final Path file;
+        private final boolean recordInput;
+        private final long startedAtNanos = System.nanoTime();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private volatile boolean closed;
+        // Only touched by the writer thread.
+        private OutputStream out;
+        private boolean dirty;
+        private int droppedWritten;
+
+        private Recording(Path file, boolean recordInput) {
+            this.file = file;
+            this.recordInput = recordInput;
+        }
+
+        public void output(String data) {
+            if (!closed) {
+                enqueue(this, Event.of(EventKind.OUTPUT, elapsedSeconds(), data));
+            }
+        }
+
+        public void input(String data) {
+            if (recordInput && !closed) {
+                enqueue(this, Event.of(EventKind.INPUT, elapsedSeconds(), data));
+            }
+        }
+
+        public void resize(int cols, int rows) {
+            if (!closed) {
+                enqueue(this, Event.of(EventKind.RESIZE, elapsedSeconds(), cols + "x" + rows));
+            }
+        }
+
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Close bypasses the budget: losing it would leak the file handle.
+            enqueueUnbounded(this, new Event(EventKind.CLOSE, elapsedSeconds(), null, 0));
+        }
+
+        private double elapsedSeconds() {
+            return Math.round((System.nanoTime() - startedAtNanos) / 1_000_000d) / 1000d;
+        }
+    }
+}
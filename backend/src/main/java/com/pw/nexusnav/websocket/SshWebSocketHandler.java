@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jcraft.jsch.ChannelShell;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.Session;
+import com.pw.nexusnav.config.NexusNavMetrics;
 import com.pw.nexusnav.entity.CardEntity;
 import com.pw.nexusnav.repository.CardRepository;
 import com.pw.nexusnav.service.ConfigModel;
@@ -35,12 +36,20 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper;
     private final CardRepository cardRepository;
+    private final SshSessionRecorder sessionRecorder;
     private final Map<String, SshRuntime> runtimes = new ConcurrentHashMap<>();
     private final ExecutorService outputExecutor = Executors.newCachedThreadPool();
 
-    public SshWebSocketHandler(ObjectMapper objectMapper, CardRepository cardRepository) {
+    public SshWebSocketHandler(
+            ObjectMapper objectMapper,
+            CardRepository cardRepository,
+            SshSessionRecorder sessionRecorder,
+            NexusNavMetrics metrics
+    ) {
         this.objectMapper = objectMapper;
         this.cardRepository = cardRepository;
+        this.sessionRecorder = sessionRecorder;
+        metrics.registerSshSessionGauge(runtimes);
     }
 
     @Override
@@ -152,6 +161,7 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
+        SshSessionRecorder.Recording recording = null;
         try {
             log.info("SSH connect start: sessionId={}, cardId={}, host={}, port={}, username={}, authMode={}",
                     session.getId(), cardId, host, port, username, authMode);
@@ -180,13 +190,18 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
             OutputStream inputWriter = channel.getOutputStream();
             channel.connect(CONNECT_TIMEOUT_MS);
 
-            Future<?> outputTask = outputExecutor.submit(() -> streamOutput(session, outputStream));
-            runtimes.put(session.getId(), new SshRuntime(sshSession, channel, inputWriter, outputTask));
+            recording = sessionRecorder.start(session.getId(), cardId, username, host, cols, rows);
+            SshSessionRecorder.Recording outputRecording = recording;
+            Future<?> outputTask = outputExecutor.submit(() -> streamOutput(session, outputStream, outputRecording));
+            runtimes.put(session.getId(), new SshRuntime(sshSession, channel, inputWriter, outputTask, recording));
             log.info("SSH connect success: sessionId={}, cardId={}, host={}, port={}, username={}",
                     session.getId(), cardId, host, port, username);
             sendJson(session, Map.of("type", "connected"));
         } catch (Exception ex) {
             closeRuntime(session.getId());
+            if (recording != null) {
+                recording.close();
+            }
             log.warn("SSH connect failed: sessionId={}, cardId={}, host={}, port={}, username={}, error={}",
                     session.getId(), cardId, host, port, username, ex.getMessage(), ex);
             sendError(session, "SSH connect failed: " + ex.getMessage());
@@ -217,7 +232,7 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
         runtime.resize(cols, rows);
     }
 
-    private void streamOutput(WebSocketSession session, InputStream outputStream) {
+    private void streamOutput(WebSocketSession session, InputStream outputStream, SshSessionRecorder.Recording recording) {
         byte[] buffer = new byte[4096];
         try {
             while (session.isOpen()) {
@@ -229,6 +244,9 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
                     continue;
                 }
                 String chunk = new String(buffer, 0, read, StandardCharsets.UTF_8);
+                if (recording != null) {
+                    recording.output(chunk);
+                }
                 sendJson(session, Map.of("type", "output", "data", chunk));
             }
         } catch (Exception ex) {
@@ -312,15 +330,26 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
         private final ChannelShell channel;
         private final OutputStream inputWriter;
         private final Future<?> outputTask;
-
-        private SshRuntime(Session sshSession, ChannelShell channel, OutputStream inputWriter, Future<?> outputTask) {
+        private final SshSessionRecorder.Recording recording;
+
+        private SshRuntime(
+                Session sshSession,
+                ChannelShell channel,
+                OutputStream inputWriter,
+                Future<?> outputTask,
+                SshSessionRecorder.Recording recording
+        ) {
             this.sshSession = sshSession;
             this.channel = channel;
             this.inputWriter = inputWriter;
             this.outputTask = outputTask;
+            this.recording = recording;
         }
 
         private void write(String data) {
+            if (recording != null) {
+                recording.input(data);
+            }
             try {
                 inputWriter.write(data.getBytes(StandardCharsets.UTF_8));
                 inputWriter.flush();
@@ -329,6 +358,9 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
         }
 
         private void resize(int cols, int rows) {
+            if (recording != null) {
+                recording.resize(cols, rows);
+            }
             try {
                 channel.setPtySize(cols, rows, 0, 0);
             } catch (Exception ignored) {
@@ -349,6 +381,9 @@ public class SshWebSocketHandler extends TextWebSocketHandler {
             if (sshSession != null && sshSession.isConnected()) {
                 sshSession.disconnect();
             }
+            if (recording != null) {
+                recording.close();
+            }
         }
     }
 }
@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_cards_order_name ON cards (order_index, name);
+CREATE INDEX IF NOT EXISTS idx_cards_group_order_name ON cards (group_id, order_index, name);
+CREATE INDEX IF NOT EXISTS idx_cards_card_type ON cards (card_type);
+CREATE INDEX IF NOT EXISTS idx_groups_order_name ON "groups" (order_index, name);
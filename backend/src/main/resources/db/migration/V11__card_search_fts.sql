@@ -0,0 +1,25 @@
+-- Case-folded copies of name and description, written by the application because SQLite's lower() only folds
+-- ASCII. Left NULL here; the boot import re-syncs the nav while any row has no folded name.
+ALTER TABLE cards ADD COLUMN search_name TEXT;
+ALTER TABLE cards ADD COLUMN search_description TEXT;
+
+-- The trigram tokenizer (SQLite 3.34+, remove_diacritics since 3.45) matches any substring of three or more
+-- characters with Unicode case folding, including inside CJK runs that unicode61 would keep as one token.
+-- Prefix indexes do not apply to trigram tables.
+CREATE VIRTUAL TABLE IF NOT EXISTS card_search USING fts5(
+    card_id UNINDEXED,
+    name,
+    description,
+    urls,
+    group_name,
+    tokenize = 'trigram remove_diacritics 1'
+);
+
+INSERT INTO card_search (card_id, name, description, urls, group_name)
+SELECT c.id,
+       c.name,
+       COALESCE(c.description, ''),
+       TRIM(COALESCE(c.url, '') || ' ' || COALESCE(c.lan_url, '') || ' ' || COALESCE(c.wan_url, '')),
+       COALESCE(g.name, '')
+FROM cards c
+LEFT JOIN "groups" g ON g.id = c.group_id;
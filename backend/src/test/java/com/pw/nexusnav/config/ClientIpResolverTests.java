@@ -0,0 +1,152 @@
+package com.pw.nexusnav.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientIpResolverTests {
+
+    private static final String PROXY = "10.0.0.2";
+
+    private final ClientIpResolver defaults = resolver();
+
+    @Test
+    void forwardedForFromAnUntrustedPeerIsIgnored() {
+        assertEquals("203.0.113.7", defaults.resolve("10.0.0.9", "203.0.113.7"));
+        assertEquals("203.0.113.7", defaults.resolve("192.168.1.20, 127.0.0.1", "203.0.113.7"));
+        assertEquals("2001:db8::7", defaults.resolve("::1", "2001:db8::7"));
+    }
+
+    @Test
+    void missingOrBlankHeaderUsesThePeer() {
+        assertEquals(PROXY, defaults.resolve(null, PROXY));
+        assertEquals(PROXY, defaults.resolve("  ", PROXY));
+        assertEquals(PROXY, defaults.resolve(" , ,", PROXY));
+    }
+
+    @Test
+    void trustedChainIsWalkedFromTheRight() {
+        assertEquals("198.51.100.4", defaults.resolve("198.51.100.4", PROXY));
+        assertEquals("198.51.100.4", defaults.resolve("198.51.100.4, 172.18.0.3, 10.0.0.5", PROXY));
+        assertEquals("198.51.100.4", defaults.resolve(" 198.51.100.4 ,172.18.0.3,,", PROXY));
+        assertEquals("2001:db8::4", defaults.resolve("2001:db8::4, [fd00::3]", "::1"));
+    }
+
+    @Test
+    void spoofedEntriesLeftOfTheClientAreIgnored() {
+        // The client prepended 127.0.0.1 and 198.51.100.1; the proxy appended the address it actually saw.
+        assertEquals("203.0.113.9", defaults.resolve("127.0.0.1, 198.51.100.1, 203.0.113.9", PROXY));
+        assertEquals("203.0.113.9", defaults.resolve("192.168.1.1, 203.0.113.9, 172.18.0.3", PROXY));
+    }
+
+    @Test
+    void unparseableEntryIsTheClient() {
+        assertEquals("unknown", defaults.resolve("198.51.100.4, unknown", PROXY));
+        assertEquals("_hidden", defaults.resolve("127.0.0.1, _hidden, 10.0.0.5", PROXY));
+    }
+
+    @Test
+    void everyHopTrustedFallsBackToTheLeftmostEntry() {
+        assertEquals("192.168.1.20", defaults.resolve("192.168.1.20, 172.18.0.3", PROXY));
+        assertEquals("::ffff:192.168.1.20", defaults.resolve("::ffff:192.168.1.20", PROXY));
+    }
+
+    @Test
+    void configuredProxiesReplaceTheDefaults() {
+        ClientIpResolver resolver = resolver("172.18.0.0/16", "2001:db8:1::/48");
+
+        assertEquals("198.51.100.4", resolver.resolve("198.51.100.4", "172.18.0.2"));
+        assertEquals("198.51.100.4", resolver.resolve("198.51.100.4", "2001:db8:1:2::1"));
+        assertEquals(PROXY, resolver.resolve("198.51.100.4", PROXY));
+        // A LAN address is a client once the defaults no longer apply.
+        assertEquals("192.168.1.20", resolver.resolve("192.168.1.20, 172.18.0.3", "172.18.0.2"));
+    }
+
+    @Test
+    void repeatedHeadersFormOneList() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(PROXY);
+        request.addHeader("X-Forwarded-For", "127.0.0.1, 198.51.100.4");
+        request.addHeader("X-Forwarded-For", "172.18.0.3");
+
+        assertEquals("198.51.100.4", defaults.resolve(request));
+    }
+
+    @Test
+    void requestWithoutHeaderUsesThePeer() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+
+        assertEquals("203.0.113.7", defaults.resolve(request));
+    }
+
+    @Test
+    void trieMatchesEachFamilySeparately() {
+        ClientIpResolver.CidrTrie trie = trie("10.0.0.0/8", "172.16.0.0/12", "192.168.1.128/25", "fd00::/8");
+
+        assertTrue(trie.matches(IpUtils.parseLiteral("10.255.0.1")));
+        assertTrue(trie.matches(IpUtils.parseLiteral("172.31.0.1")));
+        assertFalse(trie.matches(IpUtils.parseLiteral("172.32.0.1")));
+        assertTrue(trie.matches(IpUtils.parseLiteral("192.168.1.200")));
+        assertFalse(trie.matches(IpUtils.parseLiteral("192.168.1.127")));
+        assertTrue(trie.matches(IpUtils.parseLiteral("fd12::1")));
+        assertFalse(trie.matches(IpUtils.parseLiteral("fe80::1")));
+        // 0a00::/8 shares its first byte with 10.0.0.0/8 but lives in the other family.
+        assertFalse(trie.matches(IpUtils.parseLiteral("a00::1")));
+    }
+
+    @Test
+    void trieHandlesHostRangesAndCatchAll() {
+        ClientIpResolver.CidrTrie hosts = trie("10.0.0.1", "::1");
+        assertTrue(hosts.matches(IpUtils.parseLiteral("10.0.0.1")));
+        assertFalse(hosts.matches(IpUtils.parseLiteral("10.0.0.0")));
+        assertTrue(hosts.matches(IpUtils.parseLiteral("::1")));
+        assertFalse(hosts.matches(IpUtils.parseLiteral("::")));
+
+        ClientIpResolver.CidrTrie all = trie("0.0.0.0/0");
+        assertTrue(all.matches(IpUtils.parseLiteral("8.8.8.8")));
+        assertFalse(all.matches(IpUtils.parseLiteral("2001:db8::1")));
+
+        ClientIpResolver.CidrTrie nested = trie("10.1.0.0/16", "10.0.0.0/8");
+        assertTrue(nested.matches(IpUtils.parseLiteral("10.2.0.1")));
+        assertTrue(nested.matches(IpUtils.parseLiteral("10.1.0.1")));
+    }
+
+    @Test
+    void trieAgreesWithALinearScan() {
+        List<IpUtils.Cidr> ranges = IpUtils.DEFAULT_LAN_RANGES;
+        ClientIpResolver.CidrTrie trie = new ClientIpResolver.CidrTrie();
+        ranges.forEach(trie::add);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] address = new byte[i % 2 == 0 ? 4 : 16];
+            random.nextBytes(address);
+            // Bias toward the interesting prefixes so both outcomes are exercised.
+            if (i % 3 == 0) {
+                address[0] = (byte) (address.length == 4 ? 10 : 0xfe);
+            }
+            boolean expected = ranges.stream().anyMatch(range -> range.contains(address));
+            assertEquals(expected, trie.matches(address));
+        }
+    }
+
+    private static ClientIpResolver resolver(String... trustedProxies) {
+        NexusNavProperties properties = new NexusNavProperties();
+        properties.getNetwork().setTrustedProxies(List.of(trustedProxies));
+        return new ClientIpResolver(properties);
+    }
+
+    private static ClientIpResolver.CidrTrie trie(String... ranges) {
+        ClientIpResolver.CidrTrie trie = new ClientIpResolver.CidrTrie();
+        for (String range : ranges) {
+            trie.add(IpUtils.Cidr.parse(range));
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,149 @@
+package com.pw.nexusnav.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IpUtilsTests {
+
+    @Test
+    void parsesLiteralsLikeInetAddress() throws UnknownHostException {
+        for (String literal : List.of(
+                "0.0.0.0", "10.0.0.1", "255.255.255.255",
+                "::", "::1", "1::", "fe80::1", "FE80::ABCD", "2001:db8::8a2e:370:7334",
+                "2001:db8:0:0:0:0:2:1", "1:2:3:4:5:6:7::", "::2:3:4:5:6:7:8", "1:2:3:4:5:6:7:8",
+                "::1.2.3.4", "64:ff9b::192.0.2.33", "1:2:3:4:5:6:1.2.3.4")) {
+            assertArrayEquals(InetAddress.getByName(literal).getAddress(), IpUtils.parseLiteral(literal), literal);
+        }
+    }
+
+    @Test
+    void ipv4MappedAddressesBecomeIpv4() {
+        byte[] expected = {(byte) 192, (byte) 168, 1, 10};
+
+        assertArrayEquals(expected, IpUtils.parseLiteral("::ffff:192.168.1.10"));
+        assertArrayEquals(expected, IpUtils.parseLiteral("::FFFF:c0a8:10a"));
+        assertArrayEquals(expected, IpUtils.parseLiteral("0:0:0:0:0:ffff:192.168.1.10"));
+        assertArrayEquals(expected, IpUtils.parseLiteral("[::ffff:192.168.1.10]"));
+        // IPv4-compatible (::a.b.c.d) is a different, deprecated form and stays IPv6.
+        assertEquals(16, IpUtils.parseLiteral("::192.168.1.10").length);
+    }
+
+    @Test
+    void stripsBracketsZoneIdsAndWhitespace() {
+        byte[] linkLocal = IpUtils.parseLiteral("fe80::1");
+
+        assertArrayEquals(linkLocal, IpUtils.parseLiteral("[fe80::1]"));
+        assertArrayEquals(linkLocal, IpUtils.parseLiteral("fe80::1%eth0"));
+        assertArrayEquals(linkLocal, IpUtils.parseLiteral("[fe80::1%25eth0]"));
+        assertArrayEquals(linkLocal, IpUtils.parseLiteral(" fe80::1\t"));
+        assertArrayEquals(new byte[]{10, 0, 0, 1}, IpUtils.parseLiteral(" 10.0.0.1 "));
+    }
+
+    @Test
+    void parsesASliceOfAHeader() {
+        String header = "203.0.113.7, [2001:db8::1] ,10.0.0.1";
+
+        assertArrayEquals(new byte[]{(byte) 203, 0, 113, 7}, IpUtils.parseLiteral(header, 0, 11));
+        assertArrayEquals(IpUtils.parseLiteral("2001:db8::1"), IpUtils.parseLiteral(header, 12, 27));
+        assertArrayEquals(new byte[]{10, 0, 0, 1}, IpUtils.parseLiteral(header, 28, header.length()));
+    }
+
+    @Test
+    void rejectsAnythingThatIsNotALiteral() {
+        for (String value : List.of(
+                "", " ", "[]", "localhost", "example.com", "10.0.0", "10.0.0.1.2", "10.0.0.256", "10..0.1",
+                ".10.0.0", "10.0.0.", "1234.0.0.1", "+1.0.0.1", "10.0.0.1%eth0",
+                ":", ":::", "1:::2", "1::2::3", ":1::", "::1:", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9",
+                "1:2:3:4:5:6:7:8::", "12345::", "g::1", "::1.2.3", "::1.2.3.4:5", "1.2.3.4::",
+                "1:2:3:4:5:6:7:1.2.3.4", "::١", "[::1", "::1]")) {
+            assertNull(IpUtils.parseLiteral(value), value);
+        }
+        assertNull(IpUtils.parseLiteral(null));
+    }
+
+    @Test
+    void cidrMasksHostBitsAndMatchesItsRange() {
+        IpUtils.Cidr docker = IpUtils.Cidr.parse("172.17.5.9/12");
+
+        assertEquals("172.16.0.0/12", docker.toString());
+        assertTrue(docker.contains(IpUtils.parseLiteral("172.31.255.255")));
+        assertFalse(docker.contains(IpUtils.parseLiteral("172.32.0.0")));
+        assertTrue(docker.contains(IpUtils.parseLiteral("::ffff:ac10:1")));
+        assertFalse(docker.contains(IpUtils.parseLiteral("::ac10:1")));
+
+        IpUtils.Cidr ula = IpUtils.Cidr.parse("fd12:3456::1/33");
+        assertEquals("fd12:3456:0:0:0:0:0:0/33", ula.toString());
+        assertTrue(ula.contains(IpUtils.parseLiteral("fd12:3456:7fff::1")));
+        assertFalse(ula.contains(IpUtils.parseLiteral("fd12:3456:8000::1")));
+
+        assertTrue(IpUtils.Cidr.parse("0.0.0.0/0").contains(IpUtils.parseLiteral("8.8.8.8")));
+        assertFalse(IpUtils.Cidr.parse("0.0.0.0/0").contains(IpUtils.parseLiteral("2001:db8::1")));
+        assertFalse(IpUtils.Cidr.parse("::/0").contains(IpUtils.parseLiteral("8.8.8.8")));
+    }
+
+    @Test
+    void bareAddressIsASingleHost() {
+        IpUtils.Cidr host = IpUtils.Cidr.parse("  10.0.0.1 ");
+
+        assertEquals("10.0.0.1/32", host.toString());
+        assertTrue(host.contains(new byte[]{10, 0, 0, 1}));
+        assertFalse(host.contains(new byte[]{10, 0, 0, 2}));
+        assertEquals("0:0:0:0:0:0:0:1/128", IpUtils.Cidr.parse("[::1]").toString());
+    }
+
+    @Test
+    void ipv4MappedRangesAreStoredAsIpv4() {
+        IpUtils.Cidr mapped = IpUtils.Cidr.parse("::ffff:192.168.0.0/112");
+
+        assertEquals("192.168.0.0/16", mapped.toString());
+        assertTrue(mapped.contains(IpUtils.parseLiteral("192.168.4.4")));
+        assertTrue(mapped.contains(IpUtils.parseLiteral("::ffff:192.168.4.4")));
+        assertEquals("0.0.0.0/0", IpUtils.Cidr.parse("::ffff:0:0/96").toString());
+        assertThrows(IllegalArgumentException.class, () -> IpUtils.Cidr.parse("::ffff:0:0/95"));
+    }
+
+    @Test
+    void invalidCidrsAreRejected() {
+        for (String value : List.of(
+                "", "10.0.0.0/", "10.0.0.0/33", "10.0.0.0/-1", "10.0.0.0/x", "10.0.0.0/8/8", "lan/8",
+                "::/129", "fe80::1%eth0/10x")) {
+            assertThrows(IllegalArgumentException.class, () -> IpUtils.Cidr.parse(value), value);
+        }
+        assertThrows(IllegalArgumentException.class, () -> IpUtils.Cidr.parse(null));
+    }
+
+    @Test
+    void classifiesLanAddresses() {
+        for (String lan : List.of(
+                "localhost", "127.0.0.1", "10.1.2.3", "172.16.0.1", "172.31.255.254", "192.168.1.1",
+                "169.254.10.10", "::1", "[::1]", "fe80::1%eth0", "fec0::1", "fd00::1", "fc00::1",
+                "::ffff:192.168.1.1", "::ffff:127.0.0.1")) {
+            assertTrue(IpUtils.isLanIp(lan), lan);
+        }
+        for (String wan : List.of(
+                "8.8.8.8", "172.32.0.1", "192.169.0.1", "2001:db8::1", "::ffff:8.8.8.8", "fe00::1",
+                "router.lan", "", " ")) {
+            assertFalse(IpUtils.isLanIp(wan), wan);
+        }
+        assertFalse(IpUtils.isLanIp(null));
+    }
+
+    @Test
+    void explicitRangesReplaceTheDefaults() {
+        List<IpUtils.Cidr> ranges = List.of(IpUtils.Cidr.parse("100.64.0.0/10"));
+
+        assertTrue(IpUtils.isLanIp("100.100.1.1", ranges));
+        assertFalse(IpUtils.isLanIp("100.128.0.1", ranges));
+        assertFalse(IpUtils.isLanIp("10.0.0.1", ranges));
+    }
+}
@@ -0,0 +1,146 @@
+package com.pw.nexusnav.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the card listing query at 10k cards with and without the V10 listing indexes.
+ * Latencies are logged for reference; only the query plans are asserted.
+ */
+class CardListingQueryBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(CardListingQueryBenchmarkTests.class);
+    private static final int CARD_COUNT = 10_000;
+    private static final int GROUP_COUNT = 20;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 25;
+    private static final String LIST_QUERY = "SELECT * FROM cards ORDER BY order_index, name";
+    private static final String GROUP_QUERY = "SELECT * FROM cards WHERE group_id = 'group-1' ORDER BY order_index, name";
+    private static final String[] LISTING_INDEXES = {
+            "idx_cards_order_name",
+            "idx_cards_group_order_name",
+            "idx_cards_card_type",
+            "idx_groups_order_name"
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void listingQueriesUseIndexesInsteadOfTempSort() throws Exception {
+        String url = "jdbc:sqlite:" + tempDir.resolve("benchmark.db");
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            seed(connection);
+
+            String indexedListPlan = explain(connection, LIST_QUERY);
+            String indexedGroupPlan = explain(connection, GROUP_QUERY);
+            long indexedListNanos = medianNanos(connection, LIST_QUERY);
+            long indexedGroupNanos = medianNanos(connection, GROUP_QUERY);
+
+            dropListingIndexes(connection);
+            String scanListPlan = explain(connection, LIST_QUERY);
+            long scanListNanos = medianNanos(connection, LIST_QUERY);
+            long scanGroupNanos = medianNanos(connection, GROUP_QUERY);
+
+            log.info("Card listing at {} cards: all before={}us after={}us, by group before={}us after={}us",
+                    CARD_COUNT,
+                    scanListNanos / 1_000, indexedListNanos / 1_000,
+                    scanGroupNanos / 1_000, indexedGroupNanos / 1_000);
+
+            assertFalse(indexedListPlan.contains("TEMP B-TREE"), indexedListPlan);
+            assertFalse(indexedGroupPlan.contains("TEMP B-TREE"), indexedGroupPlan);
+            assertTrue(indexedGroupPlan.contains("idx_cards_group_order_name"), indexedGroupPlan);
+            assertTrue(scanListPlan.contains("TEMP B-TREE"), scanListPlan);
+        }
+    }
+
+    private void seed(Connection connection) throws Exception {
+        connection.setAutoCommit(false);
+        try (PreparedStatement group = connection.prepareStatement(
+                "INSERT INTO \"groups\" (id, name, order_index) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < GROUP_COUNT; i++) {
+                group.setString(1, "group-" + i);
+                group.setString(2, "Group " + i);
+                group.setInt(3, i);
+                group.addBatch();
+            }
+            group.executeBatch();
+        }
+        try (PreparedStatement card = connection.prepareStatement(
+                "INSERT INTO cards (id, group_id, name, url, open_mode, order_index, enabled) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < CARD_COUNT; i++) {
+                card.setString(1, "card-" + i);
+                card.setString(2, "group-" + (i % GROUP_COUNT));
+                card.setString(3, "Service " + Integer.toHexString(i * 7919));
+                card.setString(4, "http://192.168.1." + (i % 250) + ":" + (8000 + i % 1000));
+                card.setString(5, "iframe");
+                card.setInt(6, i % 100);
+                card.setInt(7, i % 10 == 0 ? 0 : 1);
+                card.addBatch();
+            }
+            card.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private String explain(Connection connection, String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private long medianNanos(Connection connection, String sql) throws Exception {
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int rows = 0;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(sql)) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            assertTrue(rows > 0);
+            if (round >= WARMUP_ROUNDS) {
+                samples[round - WARMUP_ROUNDS] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private void dropListingIndexes(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            for (String index : LISTING_INDEXES) {
+                statement.execute("DROP INDEX IF EXISTS " + index);
+            }
+        }
+    }
+}
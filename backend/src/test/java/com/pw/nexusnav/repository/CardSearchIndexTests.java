@@ -0,0 +1,104 @@
+package com.pw.nexusnav.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the migrations on a temporary SQLite file and checks the trigram index and its incremental sync.
+ */
+class CardSearchIndexTests {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private CardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("search.db");
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        index = new CardSearchIndex(jdbcTemplate);
+        jdbcTemplate.update("INSERT INTO \"groups\" (id, name, order_index) VALUES ('media', 'Media', 0)");
+        insertCard("jellyfin", "Jellyfin", "Filme und Serien", "http://10.0.0.5:8096");
+        insertCard("doctors", "Ärzte Portal", "", "https://aerzte.example");
+        insertCard("moscow", "Москва Wiki", "Résumé builder", "https://wiki.example");
+        insertCard("tokyo", "都庁案内", "東京都庁の案内ページ", "https://tokyo.example");
+        index.sync();
+    }
+
+    @Test
+    void matchesSubstringsInsideCjkText() {
+        assertEquals(List.of("tokyo"), ids(index.search("京都庁", 10)));
+    }
+
+    @Test
+    void foldsCaseAndDiacriticsBeyondAscii() {
+        assertEquals(List.of("doctors"), ids(index.search("ÄRZTE", 10)));
+        assertEquals(List.of("moscow"), ids(index.search("москва", 10)));
+        assertEquals(List.of("moscow"), ids(index.search("resume", 10)));
+    }
+
+    @Test
+    void highlightsTheMatchedName() {
+        CardSearchIndex.Hit hit = index.search("jelly", 10).get(0);
+
+        assertEquals(CardSearchIndex.HIGHLIGHT_START + "Jelly" + CardSearchIndex.HIGHLIGHT_END + "fin",
+                hit.nameHighlight());
+    }
+
+    @Test
+    void shortTermsFallBackToLike() {
+        assertEquals(List.of("tokyo"), ids(index.search("都", 10)));
+        assertEquals(List.of("jellyfin"), ids(index.search("je", 10)));
+        assertEquals(List.of("jellyfin"), ids(index.search("filme je", 10)));
+    }
+
+    @Test
+    void operatorsInInputAreMatchedLiterally() {
+        assertTrue(index.search("\"OR\" NEAR(", 10).isEmpty());
+        assertTrue(index.search("%%", 10).isEmpty());
+    }
+
+    @Test
+    void syncWritesOnlyChangedRows() {
+        assertEquals(0, index.sync());
+
+        jdbcTemplate.update("UPDATE cards SET name = 'Emby' WHERE id = 'jellyfin'");
+        jdbcTemplate.update("DELETE FROM cards WHERE id = 'moscow'");
+        insertCard("grafana", "Grafana", "Dashboards", "http://10.0.0.9:3000");
+
+        assertEquals(3, index.sync());
+        assertEquals(4, index.count());
+        assertEquals(List.of("jellyfin"), ids(index.search("emby", 10)));
+        assertTrue(index.search("jellyfin", 10).isEmpty());
+        assertTrue(index.search("москва", 10).isEmpty());
+        assertEquals(List.of("grafana"), ids(index.search("grafana", 10)));
+    }
+
+    private void insertCard(String id, String name, String description, String url) {
+        jdbcTemplate.update(
+                "INSERT INTO cards (id, group_id, name, url, description, open_mode, order_index, enabled) "
+                        + "VALUES (?, 'media', ?, ?, ?, 'newtab', 0, 1)",
+                id, name, url, description);
+    }
+
+    private static List<String> ids(List<CardSearchIndex.Hit> hits) {
+        return hits.stream().map(CardSearchIndex.Hit::cardId).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthServiceTests {
+
+    private static final int MAX_SESSIONS = 10;
+    private static final String SIGNING_KEY = "0123456789abcdef0123456789abcdef";
+    // Slow enough (~100-300 ms) that a check is still running when the caller inspects it.
+    private static final int SLOW_HASH_COST = 12;
+
+    private AuthService authService;
+
+    @AfterEach
+    void stop() {
+        if (authService != null) {
+            authService.stop();
+        }
+    }
+
+    @Test
+    void signedTokenStaysRevokedAfterMoreLogoutsThanMaxSessions() {
+        authService = signedAuthService();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < MAX_SESSIONS * 3; i++) {
+            tokens.add(authService.createSession());
+        }
+        for (String token : tokens) {
+            assertTrue(authService.isSessionValid(token));
+            authService.clearSession(token);
+        }
+
+        for (String token : tokens) {
+            assertFalse(authService.isSessionValid(token));
+        }
+    }
+
+    @Test
+    void signedTokenIsValidUntilLogout() {
+        authService = signedAuthService();
+        String token = authService.createSession();
+        String other = authService.createSession();
+
+        authService.clearSession(token);
+
+        assertFalse(authService.isSessionValid(token));
+        assertTrue(authService.isSessionValid(other));
+    }
+
+    @Test
+    void passwordCheckDoesNotBlockTheCaller() throws Exception {
+        authService = authService(new NexusNavProperties(), "secret");
+
+        CompletableFuture<Boolean> check = authService.validatePassword("secret");
+
+        assertFalse(check.isDone());
+        assertTrue(check.get(10, TimeUnit.SECONDS));
+        assertFalse(authService.validatePassword("wrong").get(10, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> blank = authService.validatePassword(" ");
+        assertTrue(blank.isDone());
+        assertFalse(blank.get());
+    }
+
+    @Test
+    void fullHashQueueRejectsInsteadOfWaiting() throws Exception {
+        NexusNavProperties properties = new NexusNavProperties();
+        properties.getLogin().setHashThreads(1);
+        properties.getLogin().setHashQueue(1);
+        authService = authService(properties, "secret");
+
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        assertThrows(RejectedExecutionException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                accepted.add(authService.validatePassword("secret"));
+            }
+        });
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<Boolean> check : accepted) {
+            assertTrue(check.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static AuthService signedAuthService() {
+        NexusNavProperties properties = new NexusNavProperties();
+        properties.getSession().setMaxSessions(MAX_SESSIONS);
+        properties.getSession().setSignedTokens(true);
+        properties.getSession().setSigningKey(SIGNING_KEY);
+        return authService(properties, null);
+    }
+
+    private static AuthService authService(NexusNavProperties properties, String adminPassword) {
+        properties.getSession().setPersistent(false);
+        SessionPersistence persistence = new SessionPersistence(null, null, properties);
+        FixedConfigImportService config = new FixedConfigImportService(properties);
+        if (adminPassword != null) {
+            config.getSystemConfig().setAdminPassword(new BCryptPasswordEncoder(SLOW_HASH_COST).encode(adminPassword));
+        }
+        return new AuthService(config, persistence, properties);
+    }
+
+    /**
+     * Serves the default system config, with security enabled, without a database.
+     */
+    private static final class FixedConfigImportService extends ConfigImportService {
+
+        private final ConfigModel.SystemModel systemModel = new ConfigModel.SystemModel();
+
+        private FixedConfigImportService(NexusNavProperties properties) {
+            super(null, null, null, null, null, null, null, null, properties);
+        }
+
+        @Override
+        public ConfigModel.SystemModel getSystemConfig() {
+            return systemModel;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.pw.nexusnav.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pw.nexusnav.config.NetworkClassifier;
+import com.pw.nexusnav.config.NexusNavProperties;
+import com.pw.nexusnav.dto.BulkCardRequest;
+import com.pw.nexusnav.dto.BulkCardResultDTO;
+import com.pw.nexusnav.dto.CreateCardRequest;
+import com.pw.nexusnav.dto.UpdateCardRequest;
+import com.pw.nexusnav.entity.CardEntity;
+import com.pw.nexusnav.entity.GroupEntity;
+import com.pw.nexusnav.repository.CardRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link CardService#bulk} against an in-memory nav config: one mutation per batch, operations applied in
+ * order, and any failing operation rejecting the whole batch.
+ */
+class CardServiceBulkTests {
+
+    private static final String LAN_CLIENT = "192.168.1.20";
+
+    private InMemoryConfigMutationService mutations;
+    private CardService cardService;
+    private ValidatorFactory validatorFactory;
+
+    @BeforeEach
+    void setUp() {
+        ConfigModel.NavModel nav = new ConfigModel.NavModel();
+        nav.addGroup(group("media"));
+        nav.addGroup(group("tools"));
+        nav.addCard(card("jellyfin", "media"));
+        nav.addCard(card("emby", "media"));
+        nav.addCard(card("grafana", "tools"));
+
+        NexusNavProperties properties = new NexusNavProperties();
+        mutations = new InMemoryConfigMutationService(nav);
+        cardService = new CardService(
+                repository(mutations),
+                null,
+                mutations,
+                new FixedConfigImportService(properties),
+                new NetworkClassifier(properties)
+        );
+        mutations.cardService = cardService;
+    }
+
+    @AfterEach
+    void closeValidator() {
+        if (validatorFactory != null) {
+            validatorFactory.close();
+        }
+    }
+
+    @Test
+    void appliesAllOperationsInOneMutation() {
+        List<BulkCardResultDTO> results = cardService.bulk(request(
+                create("sonarr", "media"),
+                update("jellyfin", "Jellyfin 10", "media"),
+                move("grafana", "media", 7),
+                delete("emby")
+        ), LAN_CLIENT);
+
+        assertEquals(1, mutations.writes);
+        assertEquals(4, results.size());
+        assertEquals(List.of("create", "update", "move", "delete"), results.stream().map(BulkCardResultDTO::op).toList());
+        assertEquals(List.of("sonarr", "jellyfin", "grafana", "emby"),
+                results.stream().map(BulkCardResultDTO::cardId).toList());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertEquals("sonarr", results.get(0).card().id());
+        assertEquals("Jellyfin 10", results.get(1).card().name());
+        assertEquals("media", results.get(2).card().groupId());
+        assertEquals(7, results.get(2).card().orderIndex());
+        assertNull(results.get(3).card());
+
+        ConfigModel.NavModel nav = mutations.current();
+        assertEquals(List.of("jellyfin", "grafana", "sonarr"), ids(nav.getCards()));
+        assertEquals(List.of("jellyfin", "grafana", "sonarr"), ids(nav.cardsInGroup("media")));
+        assertTrue(nav.cardsInGroup("tools").isEmpty());
+    }
+
+    @Test
+    void laterOperationsSeeEarlierOnes() {
+        List<BulkCardResultDTO> results = cardService.bulk(request(
+                create("sonarr", "media"),
+                move("sonarr", "tools", null),
+                update("sonarr", "Sonarr", "tools"),
+                delete("jellyfin"),
+                create("jellyfin", "tools")
+        ), LAN_CLIENT);
+
+        assertEquals(1, mutations.writes);
+        assertEquals("Sonarr", results.get(2).card().name());
+        assertEquals("tools", results.get(4).card().groupId());
+        assertEquals(List.of("grafana", "sonarr", "jellyfin"), ids(mutations.current().cardsInGroup("tools")));
+    }
+
+    @Test
+    void failingOperationRejectsTheWholeBatch() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> cardService.bulk(request(
+                delete("emby"),
+                create("sonarr", "media"),
+                delete("missing")
+        ), LAN_CLIENT));
+
+        assertEquals("operations[2]: Card not found: missing", error.getMessage());
+        assertEquals(0, mutations.writes);
+        assertEquals(List.of("jellyfin", "emby", "grafana"), ids(mutations.current().getCards()));
+    }
+
+    @Test
+    void invalidOperationsReportTheirIndex() {
+        BulkCardRequest.Operation createWithoutPayload = operation("create");
+        BulkCardRequest.Operation updateWithoutPayload = operation("update");
+        updateWithoutPayload.setCardId("jellyfin");
+        BulkCardRequest.Operation deleteWithoutId = operation("delete");
+
+        assertBulkFails("operations[0]: create payload is required", createWithoutPayload);
+        assertBulkFails("operations[1]: update payload is required", delete("emby"), updateWithoutPayload);
+        assertBulkFails("operations[0]: cardId is required for delete", deleteWithoutId);
+        assertBulkFails("operations[0]: move requires groupId or orderIndex", move("jellyfin", null, null));
+        assertBulkFails("operations[0]: Group not found: games", move("jellyfin", "games", null));
+        assertBulkFails("operations[1]: Card already exists: jellyfin", delete("emby"), create("jellyfin", "media"));
+        assertEquals(0, mutations.writes);
+    }
+
+    @Test
+    void requestConstraintsAreValidated() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+
+        assertFalse(validator.validate(new BulkCardRequest()).isEmpty());
+        assertFalse(validator.validate(request(operation("rename"))).isEmpty());
+        BulkCardRequest.Operation invalidCreate = operation("create");
+        invalidCreate.setCreate(new CreateCardRequest());
+        assertFalse(validator.validate(request(invalidCreate)).isEmpty());
+        BulkCardRequest.Operation[] tooMany = new BulkCardRequest.Operation[1001];
+        for (int i = 0; i < tooMany.length; i++) {
+            tooMany[i] = delete("card-" + i);
+        }
+        assertFalse(validator.validate(request(tooMany)).isEmpty());
+
+        assertTrue(validator.validate(request(create("sonarr", "media"), delete("emby"))).isEmpty());
+    }
+
+    private void assertBulkFails(String message, BulkCardRequest.Operation... operations) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> cardService.bulk(request(operations), LAN_CLIENT));
+        assertEquals(message, error.getMessage());
+    }
+
+    private static BulkCardRequest request(BulkCardRequest.Operation... operations) {
+        BulkCardRequest request = new BulkCardRequest();
+        request.setOperations(List.of(operations));
+        return request;
+    }
+
+    private static BulkCardRequest.Operation operation(String op) {
+        BulkCardRequest.Operation operation = new BulkCardRequest.Operation();
+        operation.setOp(op);
+        return operation;
+    }
+
+    private static BulkCardRequest.Operation create(String cardId, String groupId) {
+        CreateCardRequest create = new CreateCardRequest();
+        create.setId(cardId);
+        create.setGroupId(groupId);
+        create.setName(cardId);
+        create.setUrl("http://10.0.0.5/" + cardId);
+        create.setOpenMode("newtab");
+        create.setEnabled(true);
+        BulkCardRequest.Operation operation = operation("create");
+        operation.setCreate(create);
+        return operation;
+    }
+
+    private static BulkCardRequest.Operation update(String cardId, String name, String groupId) {
+        UpdateCardRequest update = new UpdateCardRequest();
+        update.setGroupId(groupId);
+        update.setName(name);
+        update.setUrl("http://10.0.0.5/" + cardId);
+        update.setOpenMode("newtab");
+        update.setEnabled(true);
+        BulkCardRequest.Operation operation = operation("update");
+        operation.setCardId(cardId);
+        operation.setUpdate(update);
+        return operation;
+    }
+
+    private static BulkCardRequest.Operation move(String cardId, String groupId, Integer orderIndex) {
+        BulkCardRequest.Operation operation = operation("move");
+        operation.setCardId(cardId);
+        operation.setGroupId(groupId);
+        operation.setOrderIndex(orderIndex);
+        return operation;
+    }
+
+    private static BulkCardRequest.Operation delete(String cardId) {
+        BulkCardRequest.Operation operation = operation("delete");
+        operation.setCardId(cardId);
+        return operation;
+    }
+
+    private static ConfigModel.GroupItem group(String id) {
+        ConfigModel.GroupItem group = new ConfigModel.GroupItem();
+        group.setId(id);
+        group.setName(id);
+        return group;
+    }
+
+    private static ConfigModel.CardItem card(String id, String groupId) {
+        ConfigModel.CardItem card = new ConfigModel.CardItem();
+        card.setId(id);
+        card.setGroupId(groupId);
+        card.setName(id);
+        card.setUrl("http://10.0.0.5/" + id);
+        card.setOpenMode("newtab");
+        card.setEnabled(true);
+        return card;
+    }
+
+    private static List<String> ids(List<ConfigModel.CardItem> cards) {
+        return cards.stream().map(ConfigModel.CardItem::getId).toList();
+    }
+
+    /**
+     * Serves the committed nav config as entities, the way the DB sync would after a mutation.
+     */
+    private static CardRepository repository(InMemoryConfigMutationService mutations) {
+        return (CardRepository) Proxy.newProxyInstance(
+                CardRepository.class.getClassLoader(),
+                new Class<?>[]{CardRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args == null || args.length != 1 || !(args[0] instanceof Sort)) {
+                            throw new UnsupportedOperationException(method.toString());
+                        }
+                        yield entities(mutations.current());
+                    }
+                    case "findById" -> entities(mutations.current()).stream()
+                            .filter(card -> card.getId().equals(args[0]))
+                            .findFirst();
+                    default -> throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    private static List<CardEntity> entities(ConfigModel.NavModel nav) {
+        Map<String, GroupEntity> groups = new HashMap<>();
+        for (ConfigModel.GroupItem item : nav.getGroups()) {
+            GroupEntity group = new GroupEntity();
+            group.setId(item.getId());
+            group.setName(item.getName());
+            groups.put(item.getId(), group);
+        }
+        List<CardEntity> cards = new ArrayList<>();
+        for (ConfigModel.CardItem item : nav.getCards()) {
+            CardEntity card = new CardEntity();
+            card.setId(item.getId());
+            card.setGroup(groups.get(item.getGroupId()));
+            card.setName(item.getName());
+            card.setUrl(item.getUrl());
+            card.setOpenMode(item.getOpenMode());
+            card.setCardType(item.getCardType());
+            card.setOrderIndex(item.getOrderIndex());
+            card.setEnabled(item.isEnabled());
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Mirrors the real mutation cycle without files or a database: each mutation works on a fresh copy of the
+     * committed config, which is only replaced when the mutation completes.
+     */
+    private static final class InMemoryConfigMutationService extends ConfigMutationService {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private byte[] committed;
+        private int writes;
+        private CardService cardService;
+
+        private InMemoryConfigMutationService(ConfigModel.NavModel nav) {
+            super(null);
+            this.committed = write(nav);
+        }
+
+        @Override
+        public void mutateNav(Consumer<ConfigModel.NavModel> mutation) {
+            ConfigModel.NavModel nav = current();
+            mutation.accept(nav);
+            committed = write(nav);
+            writes++;
+            cardService.onNavSynced(new NavSyncedEvent(Integer.toString(writes)));
+        }
+
+        private ConfigModel.NavModel current() {
+            try {
+                return objectMapper.readValue(committed, ConfigModel.NavModel.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] write(ConfigModel.NavModel nav) {
+            try {
+                return objectMapper.writeValueAsBytes(nav);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Serves the default system config without a database.
+     */
+    private static final class FixedConfigImportService extends ConfigImportService {
+
+        private final ConfigModel.SystemModel systemModel = new ConfigModel.SystemModel();
+
+        private FixedConfigImportService(NexusNavProperties properties) {
+            super(null, null, null, null, null, null, null, null, properties);
+        }
+
+        @Override
+        public ConfigModel.SystemModel getSystemConfig() {
+            return systemModel;
+        }
+    }
+}
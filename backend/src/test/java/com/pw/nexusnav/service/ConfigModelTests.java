@@ -0,0 +1,154 @@
+package com.pw.nexusnav.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the NavModel id index stays consistent with the group and card lists across mutations.
+ */
+class ConfigModelTests {
+
+    private ConfigModel.NavModel nav;
+
+    @BeforeEach
+    void setUp() {
+        nav = new ConfigModel.NavModel();
+        nav.addGroup(group("media"));
+        nav.addGroup(group("tools"));
+        nav.addCard(card("jellyfin", "media"));
+        nav.addCard(card("emby", "media"));
+        nav.addCard(card("grafana", "tools"));
+    }
+
+    @Test
+    void addedCardsAreIndexedInListOrder() {
+        nav.addCard(card("sonarr", "media"));
+
+        assertTrue(nav.hasCard("sonarr"));
+        assertSame(nav.getCards().get(3), nav.findCard("sonarr"));
+        assertEquals(List.of("jellyfin", "emby", "sonarr"), ids(nav.cardsInGroup("media")));
+        assertEquals(List.of("jellyfin", "emby", "grafana", "sonarr"), ids(nav.getCards()));
+    }
+
+    @Test
+    void removedCardLeavesListAndIndex() {
+        ConfigModel.CardItem removed = nav.removeCard("emby");
+
+        assertEquals("emby", removed.getId());
+        assertFalse(nav.hasCard("emby"));
+        assertNull(nav.findCard("emby"));
+        assertNull(nav.removeCard("emby"));
+        assertEquals(List.of("jellyfin"), ids(nav.cardsInGroup("media")));
+        assertEquals(List.of("jellyfin", "grafana"), ids(nav.getCards()));
+    }
+
+    @Test
+    void removingManyCardsKeepsTheRestInOrder() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            nav.addCard(card("card-" + i, "tools"));
+            if (i % 3 == 0) {
+                expected.add("card-" + i);
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            if (i % 3 != 0) {
+                nav.removeCard("card-" + i);
+            }
+        }
+
+        assertEquals(expected, ids(nav.cardsInGroup("tools")).subList(1, expected.size() + 1));
+        assertEquals(3 + expected.size(), nav.getCards().size());
+        assertFalse(nav.hasCard("card-1"));
+        assertTrue(nav.hasCard("card-3"));
+    }
+
+    @Test
+    void removedCardCanBeAddedAgain() {
+        ConfigModel.CardItem card = nav.removeCard("jellyfin");
+        nav.addCard(card);
+
+        assertSame(card, nav.findCard("jellyfin"));
+        assertEquals(List.of("emby", "grafana", "jellyfin"), ids(nav.getCards()));
+        assertEquals(List.of("emby", "jellyfin"), ids(nav.cardsInGroup("media")));
+    }
+
+    @Test
+    void movedCardChangesGroupOnly() {
+        ConfigModel.CardItem card = nav.findCard("jellyfin");
+        nav.moveCard(card, "tools");
+
+        assertEquals("tools", card.getGroupId());
+        assertEquals(List.of("emby"), ids(nav.cardsInGroup("media")));
+        assertEquals(List.of("grafana", "jellyfin"), ids(nav.cardsInGroup("tools")));
+        assertEquals(List.of("jellyfin", "emby", "grafana"), ids(nav.getCards()));
+    }
+
+    @Test
+    void removedGroupTakesItsCards() {
+        nav.removeCard("jellyfin");
+        ConfigModel.GroupItem removed = nav.removeGroup("media");
+
+        assertEquals("media", removed.getId());
+        assertFalse(nav.hasGroup("media"));
+        assertFalse(nav.hasCard("emby"));
+        assertTrue(nav.cardsInGroup("media").isEmpty());
+        assertEquals(List.of("grafana"), ids(nav.getCards()));
+        assertEquals(1, nav.getGroups().size());
+        assertNull(nav.removeGroup("media"));
+    }
+
+    @Test
+    void replacedListsAreReindexed() {
+        nav.removeCard("grafana");
+        List<ConfigModel.CardItem> reordered = new ArrayList<>(nav.getCards());
+        reordered.add(0, card("radarr", "media"));
+        reordered.add(reordered.remove(1));
+        nav.setCards(reordered);
+
+        assertEquals(List.of("radarr", "emby", "jellyfin"), ids(nav.getCards()));
+        assertEquals(List.of("radarr", "emby", "jellyfin"), ids(nav.cardsInGroup("media")));
+        assertFalse(nav.hasCard("grafana"));
+
+        nav.setGroups(new ArrayList<>(List.of(group("tools"))));
+        assertFalse(nav.hasGroup("media"));
+        assertTrue(nav.hasGroup("tools"));
+    }
+
+    @Test
+    void firstCardWinsForDuplicateIds() {
+        ConfigModel.CardItem duplicate = card("emby", "tools");
+        nav.addCard(duplicate);
+
+        assertSame(nav.getCards().get(1), nav.findCard("emby"));
+        assertEquals(List.of("grafana", "emby"), ids(nav.cardsInGroup("tools")));
+    }
+
+    private static ConfigModel.GroupItem group(String id) {
+        ConfigModel.GroupItem group = new ConfigModel.GroupItem();
+        group.setId(id);
+        group.setName(id);
+        return group;
+    }
+
+    private static ConfigModel.CardItem card(String id, String groupId) {
+        ConfigModel.CardItem card = new ConfigModel.CardItem();
+        card.setId(id);
+        card.setGroupId(groupId);
+        card.setName(id);
+        return card;
+    }
+
+    private static List<String> ids(List<ConfigModel.CardItem> cards) {
+        return cards.stream().map(ConfigModel.CardItem::getId).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    private static final long START = TimeUnit.HOURS.toNanos(1);
+
+    private LoginRateLimiter limiter;
+
+    @AfterEach
+    void stop() {
+        if (limiter != null) {
+            limiter.stop();
+        }
+    }
+
+    @Test
+    void burstThenOneAttemptPerRefill() {
+        limiter = limiter(6, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.7", START));
+        }
+        assertRetryAfter(10, limiter.tryAcquire("203.0.113.7", START));
+        assertEquals(0, limiter.tryAcquire("198.51.100.4", START));
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", START + TimeUnit.SECONDS.toNanos(15)));
+        assertRetryAfter(5, limiter.tryAcquire("203.0.113.7", START + TimeUnit.SECONDS.toNanos(15)));
+    }
+
+    @Test
+    void sweepDropsOnlyRefilledBuckets() {
+        limiter = limiter(6, 3);
+        limiter.tryAcquire("203.0.113.7", START);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("198.51.100.4", START + TimeUnit.SECONDS.toNanos(20));
+        }
+
+        // 30 s refills the first client's one token; the second is still two tokens short.
+        assertEquals(1, limiter.sweep(START + TimeUnit.SECONDS.toNanos(30)));
+        assertEquals(1, limiter.trackedClients());
+        assertEquals(0, limiter.sweep(START + TimeUnit.SECONDS.toNanos(40)));
+        assertEquals(1, limiter.sweep(START + TimeUnit.SECONDS.toNanos(55)));
+        assertEquals(0, limiter.trackedClients());
+    }
+
+    @Test
+    void sweptClientStartsWithAFullBurst() {
+        limiter = limiter(6, 2);
+        limiter.tryAcquire("203.0.113.7", START);
+        limiter.tryAcquire("203.0.113.7", START);
+        long later = START + TimeUnit.MINUTES.toNanos(1);
+        limiter.sweep(later);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", later));
+        assertEquals(0, limiter.tryAcquire("203.0.113.7", later));
+        assertRetryAfter(10, limiter.tryAcquire("203.0.113.7", later));
+    }
+
+    @Test
+    void disabledLimiterTracksNothing() {
+        limiter = limiter(0, 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.7", START));
+        }
+        assertEquals(0, limiter.trackedClients());
+    }
+
+    // Refill arithmetic is floating point, so a wait of exactly n seconds may round up to n + 1.
+    private static void assertRetryAfter(long seconds, long retryAfter) {
+        assertTrue(retryAfter == seconds || retryAfter == seconds + 1, "retry after " + retryAfter);
+    }
+
+    private static LoginRateLimiter limiter(int attemptsPerMinute, int burst) {
+        NexusNavProperties properties = new NexusNavProperties();
+        properties.getLogin().setAttemptsPerMinute(attemptsPerMinute);
+        properties.getLogin().setBurst(burst);
+        return new LoginRateLimiter(properties);
+    }
+}
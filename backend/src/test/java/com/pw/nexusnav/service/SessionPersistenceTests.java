@@ -0,0 +1,123 @@
+package com.pw.nexusnav.service;
+
+import com.pw.nexusnav.config.NexusNavProperties;
+import com.pw.nexusnav.repository.AuthSessionRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs session persistence against a migrated SQLite file: tokens are stored only as hashes and still restore.
+ */
+class SessionPersistenceTests {
+
+    @TempDir
+    Path tempDir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final List<AuthService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("sessions.db");
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        dataSource = new DriverManagerDataSource(url);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void stop() {
+        services.forEach(AuthService::stop);
+    }
+
+    @Test
+    void storesOnlyTokenHashes() {
+        SessionPersistence persistence = persistence();
+        AuthService authService = authService(persistence);
+        String session = authService.createSession();
+        String verifyToken = authService.createConfigVerifyToken();
+        persistence.flush();
+
+        List<String> stored = jdbcTemplate.queryForList("SELECT token_hash FROM auth_sessions ORDER BY kind", String.class);
+        assertEquals(List.of(SessionPersistence.hashToken(verifyToken), SessionPersistence.hashToken(session)), stored);
+        assertFalse(stored.contains(session));
+        assertFalse(stored.contains(verifyToken));
+    }
+
+    @Test
+    void restoredTokensAreFoundByTheirHash() {
+        SessionPersistence persistence = persistence();
+        AuthService first = authService(persistence);
+        String session = first.createSession();
+        String loggedOut = first.createSession();
+        String verifyToken = first.createConfigVerifyToken();
+        first.clearSession(loggedOut);
+        persistence.flush();
+
+        AuthService restarted = authService(persistence);
+
+        assertTrue(restarted.isSessionValid(session));
+        assertFalse(restarted.isSessionValid(loggedOut));
+        assertFalse(restarted.isSessionValid(SessionPersistence.hashToken(session)));
+        assertTrue(restarted.consumeConfigVerifyToken(verifyToken));
+        assertFalse(restarted.consumeConfigVerifyToken(verifyToken));
+        persistence.flush();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auth_sessions", Integer.class));
+    }
+
+    @Test
+    void hashIsStableHexSha256() {
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824",
+                SessionPersistence.hashToken("hello"));
+    }
+
+    private SessionPersistence persistence() {
+        NexusNavProperties properties = new NexusNavProperties();
+        // Flushed explicitly by the tests.
+        properties.getSession().setFlushIntervalMillis(3_600_000);
+        return new SessionPersistence(
+                new AuthSessionRepository(jdbcTemplate), new DataSourceTransactionManager(dataSource), properties);
+    }
+
+    private AuthService authService(SessionPersistence persistence) {
+        NexusNavProperties properties = new NexusNavProperties();
+        AuthService authService = new AuthService(new FixedConfigImportService(properties), persistence, properties);
+        services.add(authService);
+        return authService;
+    }
+
+    /**
+     * Serves the default system config, with security enabled, without a database.
+     */
+    private static final class FixedConfigImportService extends ConfigImportService {
+
+        private final ConfigModel.SystemModel systemModel = new ConfigModel.SystemModel();
+
+        private FixedConfigImportService(NexusNavProperties properties) {
+            super(null, null, null, null, null, null, null, null, properties);
+        }
+
+        @Override
+        public ConfigModel.SystemModel getSystemConfig() {
+            return systemModel;
+        }
+    }
+}
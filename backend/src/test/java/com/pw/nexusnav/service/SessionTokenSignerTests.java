@@ -0,0 +1,88 @@
+package com.pw.nexusnav.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionTokenSignerTests {
+
+    private static final long EXPIRES_AT = 1_900_000_000_000L;
+
+    private final SessionTokenSigner signer = new SessionTokenSigner(key('a'));
+
+    @Test
+    void verifyReturnsTheIssuedExpiry() {
+        String token = signer.issue(EXPIRES_AT);
+
+        assertEquals(EXPIRES_AT, signer.verify(token));
+        assertEquals(EXPIRES_AT, new SessionTokenSigner(key('a')).verify(token));
+    }
+
+    @Test
+    void tokensAreUniquePerIssue() {
+        assertNotEquals(signer.issue(EXPIRES_AT), signer.issue(EXPIRES_AT));
+    }
+
+    @Test
+    void extendedExpiryIsRejected() {
+        String token = signer.issue(EXPIRES_AT);
+        String extended = Long.toString(EXPIRES_AT * 2, 36) + token.substring(token.indexOf('.'));
+
+        assertEquals(-1, signer.verify(extended));
+    }
+
+    @Test
+    void alteredNonceOrSignatureIsRejected() {
+        String token = signer.issue(EXPIRES_AT);
+        int nonce = token.indexOf('.') + 1;
+
+        assertEquals(-1, signer.verify(flip(token, nonce)));
+        assertEquals(-1, signer.verify(flip(token, token.length() - 2)));
+        assertEquals(-1, signer.verify(token.substring(0, token.lastIndexOf('.') + 1)));
+    }
+
+    @Test
+    void tokenFromAnotherKeyIsRejected() {
+        String token = new SessionTokenSigner(key('b')).issue(EXPIRES_AT);
+
+        assertEquals(-1, signer.verify(token));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertEquals(-1, signer.verify(""));
+        assertEquals(-1, signer.verify("not-a-token"));
+        assertEquals(-1, signer.verify(".nonce.signature"));
+        assertEquals(-1, signer.verify("abc.def"));
+        assertEquals(-1, signer.verify("abc.def.!!!"));
+        assertEquals(-1, signer.verify("550e8400-e29b-41d4-a716-446655440000"));
+    }
+
+    @Test
+    void expiredTokenVerifiesWithItsPastExpiry() {
+        long past = System.currentTimeMillis() - 1000;
+        String token = signer.issue(past);
+
+        // The signer only authenticates the expiry; AuthService rejects it against the clock.
+        assertEquals(past, signer.verify(token));
+    }
+
+    @Test
+    void shortKeyIsRefused() {
+        assertThrows(IllegalStateException.class,
+                () -> new SessionTokenSigner("too-short".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] key(char fill) {
+        return String.valueOf(fill).repeat(SessionTokenSigner.MIN_KEY_BYTES).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String flip(String token, int index) {
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        return token.substring(0, index) + replacement + token.substring(index + 1);
+    }
+}
@@ -0,0 +1,45 @@
+import { readdirSync, readFileSync, statSync, writeFileSync } from "node:fs";
+import { join } from "node:path";
+import { brotliCompressSync, constants, gzipSync } from "node:zlib";
+
+const COMPRESSIBLE = /\.(js|mjs|css|html|svg|json|txt|ico|webmanifest)$/;
+const MIN_COMPRESS_BYTES = 1024;
+
+function listFiles(dir) {
+  return readdirSync(dir).flatMap((name) => {
+    const path = join(dir, name);
+    return statSync(path).isDirectory() ? listFiles(path) : [path];
+  });
+}
+
+/**
+ * Writes .br and .gz next to each text asset of the build, so the backend can serve them with
+ * Content-Encoding instead of compressing on every request (prod profile).
+ * @returns {import("vite").Plugin}
+ */
+export default function precompress() {
+  let outDir = "dist";
+  return {
+    name: "nexusnav-precompress",
+    apply: "build",
+    configResolved(config) {
+      outDir = config.build.outDir;
+    },
+    closeBundle() {
+      for (const file of listFiles(outDir)) {
+        if (!COMPRESSIBLE.test(file)) {
+          continue;
+        }
+        const source = readFileSync(file);
+        if (source.length < MIN_COMPRESS_BYTES) {
+          continue;
+        }
+        writeFileSync(
+          `${file}.br`,
+          brotliCompressSync(source, { params: { [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY } })
+        );
+        writeFileSync(`${file}.gz`, gzipSync(source, { level: constants.Z_BEST_COMPRESSION }));
+      }
+    }
+  };
+}
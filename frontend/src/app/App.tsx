@@ -2,7 +2,7 @@ import { useEffect } from "react";
 import { Navigate, Route, Routes } from "react-router-dom";
 import { FloatingMenu } from "../components/FloatingMenu";
 import { Header } from "../components/Header";
-import { setUnauthorizedHandler } from "../services/api";
+import { assetUrl, setUnauthorizedHandler } from "../services/api";
 import { useAuthStore } from "../store/useAuthStore";
 import { useSystemStore } from "../store/useSystemStore";
 import { HomePage } from "../pages/HomePage";
@@ -21,9 +21,9 @@ function ProtectedRoutes() {
   }, [config, loadSystem]);
 
   const backgroundStyle =
-    config?.backgroundType === "image" && config.backgroundImageDataUrl
+    config?.backgroundType === "image" && config.backgroundImageHash
       ? {
-          backgroundImage: `linear-gradient(135deg, rgba(15,23,42,0.45), rgba(30,41,59,0.65)), url(${config.backgroundImageDataUrl})`,
+          backgroundImage: `linear-gradient(135deg, rgba(15,23,42,0.45), rgba(30,41,59,0.65)), url(${assetUrl(config.backgroundImageHash)})`,
           backgroundSize: "cover",
           backgroundPosition: "center"
         }
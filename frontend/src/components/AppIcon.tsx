@@ -1,4 +1,5 @@
 import { Icon as IconifyIcon } from "@iconify/react";
+import { useState } from "react";
 import {
   AppWindow,
   Cloud,
@@ -18,6 +19,7 @@ import { cn } from "../lib/utils";
 
 type AppIconProps = {
   icon?: string;
+  proxySrc?: string;
   className?: string;
   emojiClassName?: string;
 };
@@ -62,8 +64,9 @@ function isImageSource(value: string): boolean {
   return value.startsWith("data:image/") || value.startsWith("http://") || value.startsWith("https://");
 }
 
-export function AppIcon({ icon, className, emojiClassName }: AppIconProps) {
+export function AppIcon({ icon, proxySrc, className, emojiClassName }: AppIconProps) {
   const value = (icon || "").trim();
+  const [proxyFailed, setProxyFailed] = useState(false);
 
   if (!value) {
     return <Link2 className={className} />;
@@ -84,6 +87,17 @@ export function AppIcon({ icon, className, emojiClassName }: AppIconProps) {
   }
 
   if (isImageSource(value)) {
+    if (proxySrc && !proxyFailed) {
+      return (
+        <img
+          src={proxySrc}
+          alt=""
+          className={cn("h-full w-full object-contain", className)}
+          loading="lazy"
+          onError={() => setProxyFailed(true)}
+        />
+      );
+    }
     return <img src={value} alt="" className={cn("h-full w-full object-contain", className)} loading="lazy" />;
   }
 
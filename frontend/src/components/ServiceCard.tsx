@@ -1,5 +1,6 @@
 import { ExternalLink, MonitorPlay, TerminalSquare } from "lucide-react";
 import type { CardDTO, HealthStatusDTO, TorrentStatsDTO } from "../types";
+import { cardIconUrl } from "../services/api";
 import { AppIcon } from "./AppIcon";
 
 type ServiceCardProps = {
@@ -73,7 +74,7 @@ export function ServiceCard({
         <div className="px-4 pb-3 pt-4">
           <div className="flex items-center gap-3">
             <div className="flex h-12 w-12 flex-shrink-0 items-center justify-center overflow-hidden rounded-lg bg-white/10">
-              <AppIcon icon={service.icon} className="h-8 w-8 text-white" emojiClassName="text-2xl" />
+              <AppIcon icon={service.icon} proxySrc={cardIconUrl(service)} className="h-8 w-8 text-white" emojiClassName="text-2xl" />
             </div>
             <div className="min-w-0 flex-1">
               <h3 className="truncate text-base font-semibold text-white">{service.name}</h3>
@@ -17,12 +17,12 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "../co
 import { Input } from "../components/ui/input";
 import { Tabs } from "../components/ui/tabs";
 import { Textarea } from "../components/ui/textarea";
-import { importNavConfig, verifyConfig } from "../services/api";
+import { assetUrl, cardIconUrl, importNavConfig, verifyConfig } from "../services/api";
 import { useAuthStore } from "../store/useAuthStore";
 import { useCardStore } from "../store/useCardStore";
 import { useSystemStore } from "../store/useSystemStore";
 import { cn } from "../lib/utils";
-import type { AdminConfigDTO, CardOpenMode, CardType, NavConfigImportPayload, SshAuthMode } from "../types";
+import type { AdminConfigDTO, AdminConfigUpdatePayload, CardOpenMode, CardType, NavConfigImportPayload, SshAuthMode } from "../types";
 
 const TAB_ITEMS = [
   { value: "services", label: "服务管理" },
@@ -275,7 +275,7 @@ export function SettingsPage() {
     setSessionTimeoutDraft(String(adminConfig.security.sessionTimeoutMinutes || 480));
     setDailySentenceEnabledDraft(adminConfig.dailySentenceEnabled);
     setBackgroundTypeDraft(adminConfig.backgroundType || "gradient");
-    setBackgroundImageDraft(adminConfig.backgroundImageDataUrl || "");
+    setBackgroundImageDraft(adminConfig.backgroundImageHash ? assetUrl(adminConfig.backgroundImageHash) : "");
     setVerifiedForConfig(!adminConfig.security.requireAuthForConfig || hasValidConfigVerifyToken());
   }, [adminConfig]);
 
@@ -366,7 +366,7 @@ export function SettingsPage() {
   };
 
   const saveAdmin = async (
-    updater: (draft: AdminConfigDTO) => void,
+    updater: (draft: AdminConfigUpdatePayload) => void,
     options?: { successMessage?: string; newAdminPassword?: string }
   ): Promise<boolean> => {
     if (!adminConfig) {
@@ -730,7 +730,7 @@ export function SettingsPage() {
                     <div className="min-w-0 flex-1">
                       <div className="flex items-center gap-3">
                         <div className="flex h-12 w-12 flex-shrink-0 items-center justify-center rounded-[10px] border border-white/10 bg-white/5">
-                          <AppIcon icon={card.icon} className="h-5 w-5 text-slate-200" emojiClassName="text-xl" />
+                          <AppIcon icon={card.icon} proxySrc={cardIconUrl(card)} className="h-5 w-5 text-slate-200" emojiClassName="text-xl" />
                         </div>
                         <div className="min-w-0">
                           <p className="truncate text-base font-medium text-slate-100">{card.name}</p>
@@ -1163,8 +1163,12 @@ export function SettingsPage() {
                   saveAdmin(
                     (draft) => {
                       draft.backgroundType = backgroundTypeDraft;
+                      const useImage = backgroundTypeDraft === "image" && backgroundImageDraft;
+                      // A freshly picked file is a data URL; otherwise keep the already stored asset.
                       draft.backgroundImageDataUrl =
-                        backgroundTypeDraft === "image" ? backgroundImageDraft || undefined : undefined;
+                        useImage && backgroundImageDraft.startsWith("data:") ? backgroundImageDraft : undefined;
+                      draft.backgroundImageHash =
+                        useImage && !draft.backgroundImageDataUrl ? draft.backgroundImageHash : undefined;
                     },
                     { successMessage: "背景设置已保存" }
                   )
@@ -4,9 +4,12 @@ import type {
   AdminConfigUpdatePayload,
   ApiResponse,
   AuthSessionDTO,
+  BulkCardOperation,
+  BulkCardResultDTO,
   CardDTO,
   CardOrderItemDTO,
   CardPayload,
+  CardSearchHitDTO,
   EmbyStatsDTO,
   EmbyTaskDTO,
   EmbyTaskRunResultDTO,
@@ -23,6 +26,14 @@ const api = axios.create({
   withCredentials: true
 });
 
+export function assetUrl(hash: string): string {
+  return `${api.defaults.baseURL}/v1/assets/${hash}`;
+}
+
+export function cardIconUrl(card: CardDTO): string | undefined {
+  return card.iconVersion ? `${api.defaults.baseURL}/v1/icons/${card.id}?v=${card.iconVersion}` : undefined;
+}
+
 let unauthorizedHandler: (() => void) | undefined;
 
 export function setUnauthorizedHandler(handler: (() => void) | undefined) {
@@ -102,6 +113,11 @@ export async function fetchCards(params?: {
   return data.data;
 }
 
+export async function searchCards(q: string, limit?: number): Promise<CardSearchHitDTO[]> {
+  const { data } = await api.get<ApiResponse<CardSearchHitDTO[]>>("/v1/cards/search", { params: { q, limit } });
+  return data.data;
+}
+
 export async function createCard(payload: CardPayload): Promise<CardDTO> {
   const { data } = await api.post<ApiResponse<CardDTO>>("/v1/cards", payload);
   return data.data;
@@ -116,6 +132,11 @@ export async function deleteCard(cardId: string): Promise<void> {
   await api.post(`/v1/cards/${cardId}/delete`);
 }
 
+export async function bulkCards(operations: BulkCardOperation[]): Promise<BulkCardResultDTO[]> {
+  const { data } = await api.post<ApiResponse<BulkCardResultDTO[]>>("/v1/cards/bulk", { operations });
+  return data.data;
+}
+
 export async function saveCardOrder(items: CardOrderItemDTO[]) {
   const { data } = await api.post<ApiResponse<{ updated: number }>>("/v1/cards/order", items);
   return data.data;
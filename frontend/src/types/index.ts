@@ -33,12 +33,20 @@ export type CardDTO = {
   transmissionUsername?: string;
   transmissionPassword?: string;
   icon?: string;
+  iconVersion?: string;
   description?: string;
   orderIndex: number;
   enabled: boolean;
   healthCheckEnabled: boolean;
 };
 
+export type CardSearchHitDTO = {
+  card: CardDTO;
+  nameHighlight?: string;
+  descriptionHighlight?: string;
+  score: number;
+};
+
 export type TorrentStatusBreakdown = {
   downloading: number;
   seeding: number;
@@ -121,7 +129,7 @@ export type SystemConfigDTO = {
   requireAuthForConfig: boolean;
   dailySentenceEnabled: boolean;
   backgroundType: "gradient" | "image";
-  backgroundImageDataUrl?: string;
+  backgroundImageHash?: string;
 };
 
 export type AuthSessionDTO = {
@@ -161,6 +169,19 @@ export type CardPayload = {
   healthCheckEnabled: boolean;
 };
 
+export type BulkCardOperation =
+  | { op: "create"; create: CardPayload }
+  | { op: "update"; cardId: string; update: CardPayload }
+  | { op: "delete"; cardId: string }
+  | { op: "move"; cardId: string; groupId?: string; orderIndex?: number };
+
+export type BulkCardResultDTO = {
+  index: number;
+  op: BulkCardOperation["op"];
+  cardId: string;
+  card?: CardDTO;
+};
+
 export type CardOrderItemDTO = {
   id: string;
   orderIndex: number;
@@ -171,7 +192,7 @@ export type AdminConfigDTO = {
   defaultSearchEngineId: string;
   dailySentenceEnabled: boolean;
   backgroundType: "gradient" | "image";
-  backgroundImageDataUrl?: string;
+  backgroundImageHash?: string;
   searchEngines: SearchEngineDTO[];
   security: {
     enabled: boolean;
@@ -182,6 +203,7 @@ export type AdminConfigDTO = {
 
 export type AdminConfigUpdatePayload = AdminConfigDTO & {
   newAdminPassword?: string;
+  backgroundImageDataUrl?: string;
 };
 
 export type NavConfigImportPayload = {
@@ -0,0 +1,92 @@
+#!/usr/bin/env sh
+# Smoke-tests the main API endpoints of a NexusNav image, and reports startup time and memory.
+# Meant for the native image, where missing reflection hints only show up at runtime.
+#
+# Usage: scripts/native-smoke-test.sh [image]
+# Example:
+#   docker build --target native -t nexusnav:native .
+#   scripts/native-smoke-test.sh nexusnav:native
+#
+# The container starts with the seed config, so the default admin password applies;
+# override it with SMOKE_PASSWORD if the image is started with a different config.
+set -eu
+
+IMAGE="${1:-nexusnav:native}"
+PORT="${SMOKE_PORT:-18080}"
+PASSWORD="${SMOKE_PASSWORD:-admin123456}"
+TIMEOUT_SECONDS="${SMOKE_TIMEOUT:-120}"
+BASE="http://127.0.0.1:$PORT/api/v1"
+JAR=$(mktemp)
+FAILED=0
+
+container=$(docker run -d -p "$PORT:8080" "$IMAGE")
+cleanup() {
+    docker rm -f "$container" >/dev/null 2>&1 || true
+    rm -f "$JAR"
+}
+trap cleanup EXIT
+
+waited=0
+ready=""
+while [ "$waited" -lt "$TIMEOUT_SECONDS" ]; do
+    ready=$(docker logs "$container" 2>&1 | grep -m1 "Application ready: timeToReadyMs=" || true)
+    if [ -n "$ready" ]; then
+        break
+    fi
+    sleep 1
+    waited=$((waited + 1))
+done
+if [ -z "$ready" ]; then
+    echo "FAIL: not ready after ${TIMEOUT_SECONDS}s" >&2
+    docker logs "$container" 2>&1 | tail -50 >&2
+    exit 1
+fi
+echo "startup: $(echo "$ready" | sed -E 's/.*(timeToReadyMs=[0-9]+).*/\1/')"
+
+# Every API response is {"code":0,...} on success.
+check() {
+    name="$1"
+    shift
+    body=$(curl -sS -b "$JAR" -c "$JAR" "$@" || true)
+    if printf '%s' "$body" | grep -q '"code":0'; then
+        echo "ok:   $name"
+    else
+        echo "FAIL: $name -> $(printf '%s' "$body" | head -c 300)"
+        FAILED=1
+    fi
+}
+
+json() {
+    printf '%s' "$1" | sed -nE "s/.*\"$2\":\"([^\"]*)\".*/\\1/p"
+}
+
+check "login" -H "Content-Type: application/json" -d "{\"password\":\"$PASSWORD\"}" "$BASE/auth/login"
+check "session" "$BASE/auth/session"
+check "system config" "$BASE/system/config"
+check "admin config" "$BASE/system/admin-config"
+check "groups" "$BASE/groups"
+check "cards" "$BASE/cards"
+check "card search" "$BASE/cards/search?q=a&limit=5"
+
+# Round-trip a card through create and delete: exercises the config write path and the search index.
+group_id=$(json "$(curl -sS -b "$JAR" "$BASE/groups")" id)
+if [ -n "$group_id" ]; then
+    created=$(curl -sS -b "$JAR" -H "Content-Type: application/json" \
+        -d "{\"groupId\":\"$group_id\",\"name\":\"smoke-test\",\"url\":\"http://127.0.0.1/\",\"openMode\":\"newtab\"}" "$BASE/cards" || true)
+    card_id=$(json "$created" id)
+    if [ -n "$card_id" ]; then
+        echo "ok:   create card"
+        check "delete card" -X POST "$BASE/cards/$card_id/delete"
+    else
+        echo "FAIL: create card -> $(printf '%s' "$created" | head -c 300)"
+        FAILED=1
+    fi
+fi
+
+echo "memory: $(docker stats --no-stream --format '{{.MemUsage}}' "$container")"
+
+if [ "$FAILED" -ne 0 ]; then
+    docker logs "$container" 2>&1 | grep -E "ERROR|Exception" | tail -20 >&2 || true
+    exit 1
+fi
+echo "all checks passed"
@@ -0,0 +1,65 @@
+#!/usr/bin/env sh
+# Measures time-to-ready of one or more NexusNav images.
+#
+# Usage: scripts/startup-benchmark.sh [-n runs] image [image...]
+# Example:
+#   docker build -t nexusnav:cds .
+#   docker build -t nexusnav:aot --build-arg SPRING_AOT=true .
+#   scripts/startup-benchmark.sh -n 5 nexusnav:cds nexusnav:aot
+#
+# Every run starts a fresh container with an empty data volume and reads the
+# "Application ready: timeToReadyMs=..." line logged by StartupTimingLogger.
+# To compare against a run without the class archive, add
+# JAVA_OPTS=-Xshare:off through BENCH_ENV, e.g. BENCH_ENV="-e JAVA_OPTS=-Xshare:off".
+set -eu
+
+RUNS=5
+if [ "${1:-}" = "-n" ]; then
+    RUNS="$2"
+    shift 2
+fi
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 [-n runs] image [image...]" >&2
+    exit 1
+fi
+
+TIMEOUT_SECONDS="${BENCH_TIMEOUT:-180}"
+
+run_once() {
+    image="$1"
+    # shellcheck disable=SC2086
+    container=$(docker run -d ${BENCH_ENV:-} "$image")
+    waited=0
+    line=""
+    while [ "$waited" -lt "$TIMEOUT_SECONDS" ]; do
+        line=$(docker logs "$container" 2>&1 | grep -m1 "Application ready: timeToReadyMs=" || true)
+        if [ -n "$line" ]; then
+            break
+        fi
+        sleep 1
+        waited=$((waited + 1))
+    done
+    docker rm -f "$container" >/dev/null
+    if [ -z "$line" ]; then
+        echo "timeout"
+        return
+    fi
+    echo "$line" | sed -E 's/.*timeToReadyMs=([0-9]+).*/\1/'
+}
+
+for image in "$@"; do
+    samples=""
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        ms=$(run_once "$image")
+        echo "$image run $i: ${ms}ms"
+        if [ "$ms" != "timeout" ]; then
+            samples="$samples $ms"
+        fi
+        i=$((i + 1))
+    done
+    if [ -n "$samples" ]; then
+        median=$(printf '%s\n' $samples | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+        echo "$image median time-to-ready: ${median}ms over $(printf '%s\n' $samples | wc -l | tr -d ' ') runs"
+    fi
+done